@@ -0,0 +1,285 @@
+package loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import components.Dumpy;
+import components.Todo;
+import components.task.DeadlineTask;
+import components.task.Task;
+import loadtest.Workload.Operation;
+import metrics.LatencyHistogram;
+import metrics.Stats;
+import metrics.StatsMBean;
+import utilities.Data;
+import utilities.EventBus;
+
+/**
+ * End-to-end load test. Drives a synthetic mix of user sessions through
+ * {@link EventBus#addInput} into the command router, with every command
+ * saved by {@link Data} to a temporary data directory, and prints throughput,
+ * latency percentiles and save volume as JSON.
+ * <p>
+ * Sessions are issued by several client threads, at a fixed total rate or as
+ * fast as possible. Like the UI thread in the app, the router handles one
+ * session at a time, so clients queue for it; latency is measured from when
+ * a session was due to start, so time spent queueing behind a slow command
+ * is counted rather than hidden.
+ * <p>
+ * Options, each as {@code --name=value}:
+ * <ul>
+ * <li>{@code ops} sessions to measure (default 10000)</li>
+ * <li>{@code warmup} sessions to run first and discard (default 1000)</li>
+ * <li>{@code rate} sessions per second across all clients, 0 for as fast as
+ * possible (default 0)</li>
+ * <li>{@code threads} client threads (default 4)</li>
+ * <li>{@code tasks} tasks in the list before the run (default 1000)</li>
+ * <li>{@code mix} operation weights (default {@value Workload#DEFAULT_MIX})</li>
+ * <li>{@code seed} random seed (default 42)</li>
+ * <li>{@code out} file to write the JSON to instead of standard output</li>
+ * </ul>
+ * Data lives in a fresh temporary directory unless {@code -Ddumpy.dataDir}
+ * is set, so the user's lists are never touched.
+ */
+public class LoadTest {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999", "max"};
+
+    private final Workload workload;
+    private final int threads;
+    private final long rate;
+    private final long seed;
+    /** Guards the router, which like the UI thread handles one session at a time. */
+    private final Object routerLock = new Object();
+    private Todo todo;
+
+    private LoadTest(Workload workload, int threads, long rate, long seed) {
+        this.workload = workload;
+        this.threads = threads;
+        this.rate = rate;
+        this.seed = seed;
+    }
+
+    /** Latencies of one phase of the run. */
+    private static class Results {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram serviceTime = new LatencyHistogram();
+        private final Map<Operation, LatencyHistogram> byOperation = new EnumMap<>(Operation.class);
+        private long elapsedNanos;
+
+        Results() {
+            for (Operation operation : Operation.values()) {
+                byOperation.put(operation, new LatencyHistogram());
+            }
+        }
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args options, see the class comment
+     * @throws Exception if the run cannot be set up or the report written
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int ops = Integer.parseInt(options.getOrDefault("ops", "10000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1000"));
+        int initialTasks = Integer.parseInt(options.getOrDefault("tasks", "1000"));
+        LoadTest test = new LoadTest(new Workload(options.getOrDefault("mix", Workload.DEFAULT_MIX)),
+                        Integer.parseInt(options.getOrDefault("threads", "4")),
+                        Long.parseLong(options.getOrDefault("rate", "0")),
+                        Long.parseLong(options.getOrDefault("seed", "42")));
+
+        Path tempDir = null;
+        if (System.getProperty(Data.DATA_DIR_PROPERTY) == null) {
+            tempDir = Files.createTempDirectory("dumpy-loadtest");
+            System.setProperty(Data.DATA_DIR_PROPERTY, tempDir.toString());
+        }
+
+        try {
+            test.setUp(initialTasks);
+            test.run(warmup, 0);
+            StatsMBean stats = statsProxy();
+            long savesBefore = stats.getSaveCount();
+            long bytesBefore = stats.getBytesWritten();
+            long errorsBefore = stats.getCommandErrorCount();
+            Results results = test.run(ops, 1);
+
+            String json = test.toJson(options, ops, initialTasks, results,
+                            stats.getSaveCount() - savesBefore,
+                            stats.getBytesWritten() - bytesBefore,
+                            stats.getCommandErrorCount() - errorsBefore);
+            if (options.containsKey("out")) {
+                Files.writeString(Path.of(options.get("out")), json, StandardCharsets.UTF_8);
+            } else {
+                System.out.print(json);
+            }
+        } finally {
+            if (tempDir != null) {
+                deleteRecursively(tempDir);
+            }
+        }
+    }
+
+    /**
+     * Writes a list of the given size to the data directory and starts the
+     * router over it, loading it the way the app does.
+     */
+    private void setUp(int initialTasks) {
+        Random random = new Random(seed);
+        Todo seeded = new Todo();
+        for (int i = 0; i < initialTasks; i++) {
+            String description = Workload.description(random);
+            seeded.loadTask(i % 2 == 0 ? new Task(description)
+                            : new DeadlineTask(description, workload.randomTime(random)));
+        }
+        Data.saveListToFile(seeded);
+        seeded.close();
+
+        todo = Data.readListFromFile();
+        new Dumpy(todo);
+        Stats.registerMBean();
+    }
+
+    /**
+     * Issues the given number of sessions from all client threads and waits
+     * for them to finish.
+     *
+     * @param ops number of sessions
+     * @param phase distinguishes the random streams of warmup and measurement
+     * @return latencies of the sessions
+     */
+    private Results run(int ops, int phase) throws InterruptedException {
+        Results results = new Results();
+        AtomicLong nextTicket = new AtomicLong();
+        long intervalNanos = rate > 0 ? 1_000_000_000L / rate : 0;
+        long startNanos = System.nanoTime();
+
+        List<Thread> clients = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed * 31 + phase * 1_000_003L + t);
+            Thread client = new Thread(() -> {
+                for (long ticket = nextTicket.getAndIncrement(); ticket < ops;
+                                ticket = nextTicket.getAndIncrement()) {
+                    long dueNanos = rate > 0 ? startNanos + ticket * intervalNanos : System.nanoTime();
+                    long waitNanos = dueNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+                    runSession(workload.next(random), random, dueNanos, results);
+                }
+            }, "dumpy-loadtest-" + t);
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        results.elapsedNanos = System.nanoTime() - startNanos;
+        return results;
+    }
+
+    private void runSession(Operation operation, Random random, long dueNanos, Results results) {
+        long endNanos;
+        long serviceNanos;
+        synchronized (routerLock) {
+            long beginNanos = System.nanoTime();
+            for (String line : workload.session(operation, random, todo.size())) {
+                EventBus.addInput(line);
+            }
+            endNanos = System.nanoTime();
+            serviceNanos = endNanos - beginNanos;
+        }
+        results.latency.record(endNanos - dueNanos);
+        results.serviceTime.record(serviceNanos);
+        results.byOperation.get(operation).record(endNanos - dueNanos);
+    }
+
+    private String toJson(Map<String, String> options, int ops, int initialTasks,
+                    Results results, long saves, long bytesWritten, long errors) {
+        double seconds = results.elapsedNanos / 1e9;
+        StringBuilder sb = new StringBuilder("{\n");
+        sb.append("  \"config\": {");
+        sb.append(String.format("\"ops\": %d, \"threads\": %d, \"rate\": %d, \"initialTasks\": %d, "
+                        + "\"seed\": %d, \"mix\": \"%s\", \"compress\": %b},\n", ops, threads, rate,
+                        initialTasks, seed, options.getOrDefault("mix", Workload.DEFAULT_MIX),
+                        Boolean.getBoolean(Data.COMPRESS_PROPERTY)));
+        sb.append(String.format("  \"durationSeconds\": %.3f,\n", seconds));
+        sb.append(String.format("  \"throughputOpsPerSecond\": %.1f,\n", ops / seconds));
+        sb.append("  \"latencyMillis\": ").append(percentiles(results.latency)).append(",\n");
+        sb.append("  \"serviceTimeMillis\": ").append(percentiles(results.serviceTime)).append(",\n");
+        sb.append("  \"operations\": {\n");
+        List<String> entries = new ArrayList<>();
+        results.byOperation.forEach((operation, histogram) -> {
+            if (histogram.getCount() > 0) {
+                entries.add(String.format("    \"%s\": {\"count\": %d, \"latencyMillis\": %s}",
+                                operation.name().toLowerCase(), histogram.getCount(),
+                                percentiles(histogram)));
+            }
+        });
+        sb.append(String.join(",\n", entries)).append("\n  },\n");
+        sb.append(String.format("  \"persistence\": {\"saves\": %d, \"savesPerOp\": %.2f, "
+                        + "\"bytesWritten\": %d, \"bytesPerOp\": %.0f},\n", saves,
+                        (double) saves / ops, bytesWritten, (double) bytesWritten / ops));
+        sb.append(String.format("  \"commandErrors\": %d,\n", errors));
+        sb.append(String.format("  \"finalTasks\": %d\n", todo.size()));
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        List<String> fields = new ArrayList<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            fields.add(String.format("\"%s\": %.3f", PERCENTILE_NAMES[i],
+                            histogram.getPercentile(PERCENTILES[i]) / NANOS_PER_MILLI));
+        }
+        return "{" + String.join(", ", fields) + "}";
+    }
+
+    private static StatsMBean statsProxy() throws MalformedObjectNameException {
+        return JMX.newMBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                        new ObjectName(Stats.OBJECT_NAME), StatsMBean.class);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import components.Todo;
+import components.task.DeadlineTask;
+import components.task.Task;
+
+/**
+ * Benchmarks the serial and parallel paths of {@link Todo}'s filtering and
+ * rendering across list sizes and thread counts, to place
+ * {@code Todo.PARALLEL_THRESHOLD}. For every size it times {@code find}, which
+ * filters the whole list and renders a few matches, and {@code list}, which
+ * renders every task, once forced serial and once forced parallel on fork-join
+ * pools of each thread count. The result cache is disabled so every call does
+ * the full work. Prints median milliseconds as JSON.
+ * <p>
+ * Options, each as {@code --name=value}:
+ * <ul>
+ * <li>{@code sizes} comma-separated list sizes (default
+ * 5000,10000,25000,50000,100000,250000)</li>
+ * <li>{@code threads} comma-separated pool sizes (default 1,2,4 and the
+ * number of processors)</li>
+ * <li>{@code runs} timed runs per measurement, after as many warmup runs
+ * (default 15)</li>
+ * </ul>
+ */
+public class ParallelFilterBenchmark {
+    private static final String DEFAULT_SIZES = "5000,10000,25000,50000,100000,250000";
+    private static final int DEFAULT_RUNS = 15;
+    private static final String FIND_TERM = "rprt";
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args options, see the class comment
+     * @throws Exception if a timed call fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int[] sizes = parseInts(options.getOrDefault("sizes", DEFAULT_SIZES));
+        int processors = Runtime.getRuntime().availableProcessors();
+        int[] threads = options.containsKey("threads") ? parseInts(options.get("threads"))
+                        : Arrays.stream(new int[] {1, 2, 4, processors}).distinct().sorted().toArray();
+        int runs = Integer.parseInt(options.getOrDefault("runs", String.valueOf(DEFAULT_RUNS)));
+        System.setProperty(Todo.RESULT_CACHE_PROPERTY, "0");
+
+        List<String> results = new ArrayList<>();
+        for (int size : sizes) {
+            Todo serial = filledTodo(size, Integer.MAX_VALUE);
+            Todo parallel = filledTodo(size, 1);
+            for (String operation : List.of("find", "list")) {
+                Function<Todo, String> call = operation.equals("find")
+                                ? todo -> todo.fuzzyFindTasks(FIND_TERM) : Todo::listTasks;
+                double serialMillis = median(serial, call, runs, null);
+                List<String> byThreads = new ArrayList<>();
+                for (int count : threads) {
+                    ForkJoinPool pool = new ForkJoinPool(count);
+                    try {
+                        byThreads.add(String.format("\"%d\": %.3f", count,
+                                        median(parallel, call, runs, pool)));
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+                results.add(String.format("    {\"size\": %d, \"operation\": \"%s\", \"serialMillis\": %.3f, "
+                                + "\"parallelMillisByThreads\": {%s}}", size, operation, serialMillis,
+                                String.join(", ", byThreads)));
+            }
+            serial.close();
+            parallel.close();
+        }
+        System.out.printf("{%n  \"processors\": %d,%n  \"runs\": %d,%n  \"results\": [%n%s%n  ]%n}%n",
+                        processors, runs, String.join(",\n", results));
+    }
+
+    /**
+     * Builds a list of the given size whose filters run in parallel from the
+     * given size on.
+     */
+    private static Todo filledTodo(int size, int threshold) {
+        System.setProperty(Todo.PARALLEL_THRESHOLD_PROPERTY, String.valueOf(threshold));
+        Todo todo = new Todo();
+        System.clearProperty(Todo.PARALLEL_THRESHOLD_PROPERTY);
+        Random random = new Random(size);
+        LocalDateTime origin = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            String description = Workload.description(random);
+            todo.loadTask(i % 2 == 0 ? new Task(description)
+                            : new DeadlineTask(description, origin.plusMinutes(random.nextInt(1_000_000))));
+        }
+        return todo;
+    }
+
+    /**
+     * Returns the median time of the call in milliseconds, run on the pool if
+     * given so that parallel streams use its threads, after as many untimed
+     * warmup runs.
+     */
+    private static double median(Todo todo, Function<Todo, String> call, int runs, ForkJoinPool pool)
+                    throws InterruptedException, ExecutionException {
+        long[] nanos = new long[runs];
+        for (int i = -runs; i < runs; i++) {
+            long start = System.nanoTime();
+            if (pool == null) {
+                call.apply(todo);
+            } else {
+                pool.submit(() -> call.apply(todo)).get();
+            }
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        return nanos[runs / 2] / 1e6;
+    }
+
+    private static int[] parseInts(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,166 @@
+package loadtest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import utilities.DateTime;
+
+/**
+ * Generates a weighted mix of user sessions. A session is the lines a user
+ * types for one operation, including the answers to interactive prompts,
+ * e.g. {@code deadline}, a description and a date.
+ */
+class Workload {
+    /** Operations the load test can issue. */
+    enum Operation {
+        TODO, DEADLINE, EVENT, MARK, DELETE, FIND, LIST
+    }
+
+    /** Default weights, roughly an active user's day. */
+    static final String DEFAULT_MIX = "todo:15,deadline:10,event:10,mark:20,delete:15,find:20,list:10";
+
+    private static final String[] WORDS = {"buy", "milk", "report", "meeting", "call",
+        "review", "gym", "pay", "rent", "email", "draft", "lunch", "dentist", "plan",
+        "book", "flight", "fix", "bug", "submit", "quiz"};
+    private static final DateTimeFormatter INPUT_FORMAT = DateTimeFormatter
+                    .ofPattern(DateTime.INPUT_DATE_FORMAT);
+    private static final int DATE_SPREAD_MINUTES = 60 * 24 * 60;
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final LocalDateTime origin = LocalDateTime.now();
+
+    /**
+     * Creates a workload from weights such as {@code todo:15,find:20}.
+     * Operations left out are never issued.
+     *
+     * @param mix comma-separated {@code operation:weight} pairs
+     * @throws IllegalArgumentException if the mix cannot be parsed
+     */
+    Workload(String mix) throws IllegalArgumentException {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String pair : mix.split(",")) {
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + pair);
+            }
+            try {
+                int weight = Integer.parseInt(parts[1]);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative weight: " + pair);
+                }
+                weights.put(Operation.valueOf(parts[0].toUpperCase()), weight);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad mix entry: " + pair);
+            }
+        }
+
+        operations = weights.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Mix has no weight: " + mix);
+        }
+    }
+
+    /**
+     * Picks the next operation according to the weights.
+     *
+     * @param random source of randomness
+     * @return operation to issue
+     */
+    Operation next(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new AssertionError("Ticket is below the total weight");
+    }
+
+    /**
+     * Builds the lines a user would type for one operation. Operations that
+     * need an existing task add a todo instead when the list is empty.
+     *
+     * @param operation operation to issue
+     * @param random source of randomness
+     * @param listSize current number of tasks
+     * @return input lines, in order
+     */
+    List<String> session(Operation operation, Random random, int listSize) {
+        List<String> lines = new ArrayList<>();
+        if (listSize == 0 && (operation == Operation.MARK || operation == Operation.DELETE)) {
+            operation = Operation.TODO;
+        }
+        switch (operation) {
+        case TODO:
+            lines.add("todo");
+            lines.add(description(random));
+            break;
+        case DEADLINE:
+            lines.add("deadline");
+            lines.add(description(random));
+            lines.add(INPUT_FORMAT.format(randomTime(random)));
+            break;
+        case EVENT: {
+            LocalDateTime start = randomTime(random);
+            lines.add("event");
+            lines.add(description(random));
+            lines.add(INPUT_FORMAT.format(start));
+            lines.add(INPUT_FORMAT.format(start.plusMinutes(30 + random.nextInt(180))));
+            break;
+        }
+        case MARK:
+            lines.add("mark " + (1 + random.nextInt(listSize)));
+            break;
+        case DELETE:
+            lines.add("delete " + (1 + random.nextInt(listSize)));
+            lines.add("y");
+            break;
+        case FIND:
+            lines.add("find " + WORDS[random.nextInt(WORDS.length)]);
+            break;
+        case LIST:
+            lines.add("list");
+            break;
+        default:
+            throw new AssertionError("Unknown operation " + operation);
+        }
+        return lines;
+    }
+
+    /**
+     * Returns a task description of two to four words.
+     *
+     * @param random source of randomness
+     * @return description
+     */
+    static String description(Random random) {
+        StringBuilder sb = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            sb.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a random time within a month either side of when the workload
+     * was created.
+     *
+     * @param random source of randomness
+     * @return time
+     */
+    LocalDateTime randomTime(Random random) {
+        return origin.plusMinutes(random.nextInt(DATE_SPREAD_MINUTES) - DATE_SPREAD_MINUTES / 2);
+    }
+}
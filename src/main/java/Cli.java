@@ -0,0 +1,95 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import components.Dumpy;
+import components.Todo;
+import ui.ConsoleView;
+import utilities.Data;
+import utilities.EventBus;
+
+/**
+ * Headless terminal front end for dumpy. Reads commands from standard input
+ * and prints replies to standard output without loading any JavaFX classes,
+ * so it starts quickly and can be driven from shell scripts. Input is read
+ * plainly: a {@code >} prompt is only shown at an interactive console, and
+ * input lines are never echoed, so piped output holds only the replies.
+ *
+ * <p>
+ * Pass {@code --timing} (or set {@code -Ddumpy.timing=true}) to print a
+ * startup-phase report to standard error.
+ */
+public class Cli {
+    private static final String TIMING_FLAG = "--timing";
+    private static final String TIMING_PROPERTY = "dumpy.timing";
+    private static final String PROMPT = "> ";
+
+    /**
+     * Starts the headless session and processes input until end of stream or
+     * the {@code exit} command.
+     *
+     * @param args command line arguments; {@value #TIMING_FLAG} enables the
+     *            startup report
+     */
+    public static void main(String[] args) throws IOException {
+        long mainNanos = System.nanoTime();
+        boolean isTimed = Boolean.getBoolean(TIMING_PROPERTY)
+                        || (args.length > 0 && TIMING_FLAG.equals(args[0]));
+
+        EventBus.subscribe(new ConsoleView(System.out));
+        Todo todo = Data.readListFromFile();
+        long loadedNanos = System.nanoTime();
+        new Dumpy(todo);
+        long readyNanos = System.nanoTime();
+
+        boolean isInteractive = System.console() != null;
+        if (isInteractive) {
+            System.out.println(Dumpy.LOGO);
+            System.out.println("Hello! I'm Dumpy. How can I assist you today?");
+        }
+
+        // Taken before blocking on input, so the user's typing is not counted
+        if (isTimed) {
+            printTiming(mainNanos, loadedNanos, readyNanos, System.nanoTime(),
+                            todo.getTasks().size());
+        }
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        for (String line = readLine(in, isInteractive); line != null; line = readLine(in, isInteractive)) {
+            EventBus.addInput(line);
+        }
+    }
+
+    /**
+     * Reads the next command, prompting only at an interactive console.
+     *
+     * @return the line, or null at end of input
+     */
+    private static String readLine(BufferedReader in, boolean isInteractive) throws IOException {
+        if (isInteractive) {
+            System.out.print(PROMPT);
+            System.out.flush();
+        }
+        return in.readLine();
+    }
+
+    /**
+     * Prints how long each startup phase took. The first-prompt phase ends
+     * just before the first line of input is waited for. JVM uptime is only
+     * queried here, so untimed runs never load the management classes.
+     */
+    private static void printTiming(long mainNanos, long loadedNanos,
+                    long readyNanos, long promptNanos, int taskCount) {
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        long sinceMainMillis = (System.nanoTime() - mainNanos) / 1_000_000;
+        long jvmToMainMillis = uptimeMillis - sinceMainMillis;
+        System.err.printf("Startup timing:%n");
+        System.err.printf("  JVM start to main: %d ms%n", jvmToMainMillis);
+        System.err.printf("  main to data loaded: %.1f ms (%d tasks)%n",
+                        (loadedNanos - mainNanos) / 1e6, taskCount);
+        System.err.printf("  main to ready: %.1f ms%n", (readyNanos - mainNanos) / 1e6);
+        System.err.printf("  main to first prompt: %.1f ms%n",
+                        (promptNanos - mainNanos) / 1e6);
+    }
+}
@@ -3,13 +3,16 @@ import java.net.URL;
 
 import components.Dumpy;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import metrics.Stats;
 
 /**
- * A GUI for dumpy using FXML.
+ * A GUI for dumpy using FXML. The task list is loaded in the background while
+ * the scene is being built; see {@link Dumpy#loadAsync}.
  */
 public class Main extends Application {
     public static void main(String[] args) {
@@ -18,7 +21,12 @@ public class Main extends Application {
 
     @Override
     public void start(Stage stage) {
-        new Dumpy();
+        Dumpy.loadAsync(Platform::runLater).exceptionally(e -> {
+            e.printStackTrace();
+            Platform.exit();
+            return null;
+        });
+        Stats.registerMBean();
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("/view/MainWindow.fxml"));
             AnchorPane ap = fxmlLoader.load();
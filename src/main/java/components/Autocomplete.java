@@ -0,0 +1,69 @@
+package components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import components.index.WordTrie;
+
+/**
+ * Completes partly typed input for the GUI. The first word is completed from
+ * the command names; any later word from the words in the descriptions of
+ * the current list, kept in a {@link WordTrie} as tasks are added and
+ * deleted.
+ * <p>
+ * Safe to call from any thread, so input can be completed off the UI thread.
+ * Until a list has been loaded only command names are completed.
+ */
+public class Autocomplete {
+    /** Supplies the word trie of the current list, or null before loading. */
+    private static volatile Supplier<WordTrie> currentWords = () -> null;
+
+    /**
+     * Completes words from the tries of whichever list is current.
+     *
+     * @param source supplies the word trie of the current list
+     */
+    static void setSource(Supplier<WordTrie> source) {
+        currentWords = source;
+    }
+
+    /**
+     * Returns up to {@code limit} completions of the last word of the input,
+     * each as the whole input with that word completed, in alphabetical order
+     * of the completed word. Words already typed out in full are not offered.
+     *
+     * @param input text typed so far
+     * @param limit maximum number of completions
+     * @return completed inputs, empty if there are none
+     */
+    public static List<String> suggest(String input, int limit) {
+        int start = input.lastIndexOf(' ') + 1;
+        String prefix = input.substring(start).toLowerCase();
+        List<String> suggestions = new ArrayList<>();
+        if (prefix.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+
+        String head = input.substring(0, start);
+        if (head.isBlank()) {
+            CommandRouter.COMMANDS.stream()
+                            .filter(command -> command.startsWith(prefix) && !command.equals(prefix))
+                            .sorted()
+                            .limit(limit)
+                            .forEach(command -> suggestions.add(head + command + " "));
+            return suggestions;
+        }
+
+        WordTrie words = currentWords.get();
+        if (words != null) {
+            // One extra in case the prefix itself is a word
+            for (String word : words.complete(prefix, limit + 1)) {
+                if (!word.equals(prefix) && suggestions.size() < limit) {
+                    suggestions.add(head + word);
+                }
+            }
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,169 @@
+package components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import components.task.Task;
+
+/**
+ * Publishes the changes of a {@link Todo} as batches of {@link TodoChange}s.
+ * Changes are gathered for up to {@value #LINGER_MILLIS} ms or
+ * {@value #MAX_BATCH} changes, whichever comes first, so a bulk load or
+ * archive reaches subscribers in a few large batches rather than one signal
+ * per task.
+ * <p>
+ * Delivery is asynchronous on the common fork-join pool, and each subscriber
+ * has its own buffer of {@link Flow#defaultBufferSize()} batches that drains
+ * as fast as it requests. The list never waits for a subscriber. One that
+ * falls a full buffer behind is cancelled with an
+ * {@link IllegalStateException}, since it has missed changes and must re-read
+ * the list before subscribing again.
+ */
+class ChangeFeed implements TodoListener, Flow.Publisher<List<TodoChange>> {
+    static final int MAX_BATCH = 256;
+    static final long LINGER_MILLIS = 5;
+    private static final String MESSAGE_OVERFLOW = "Subscriber fell too far behind "
+                    + "the change feed; re-read the list and subscribe again";
+
+    private final SubmissionPublisher<List<TodoChange>> publisher = new SubmissionPublisher<>();
+    private final LongSupplier version;
+    private List<TodoChange> pending = new ArrayList<>();
+
+    /**
+     * Creates a feed stamping changes with the list version.
+     *
+     * @param version supplies the current version of the list
+     */
+    ChangeFeed(LongSupplier version) {
+        this.version = version;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<TodoChange>> subscriber) {
+        publisher.subscribe(new GuardedSubscriber(subscriber));
+    }
+
+    @Override
+    public void onTaskAdded(int id, int position, Task task) {
+        add(TodoChange.Kind.ADDED, id, position, task);
+    }
+
+    @Override
+    public void onTaskToggled(int id, int position, Task task) {
+        add(TodoChange.Kind.TOGGLED, id, position, task);
+    }
+
+    @Override
+    public void onTaskRemoved(int id, int position, Task task) {
+        add(TodoChange.Kind.REMOVED, id, position, task);
+    }
+
+    /**
+     * Publishes the pending batch and completes every subscription.
+     */
+    void close() {
+        flush();
+        publisher.close();
+    }
+
+    private synchronized void add(TodoChange.Kind kind, int id, int position, Task task) {
+        // Nobody can see changes made before they subscribe, so skip encoding
+        if (!publisher.hasSubscribers()) {
+            return;
+        }
+        pending.add(new TodoChange(kind, id, position, version.getAsLong(), task));
+        if (pending.size() >= MAX_BATCH) {
+            flush();
+        } else if (pending.size() == 1) {
+            CompletableFuture.delayedExecutor(LINGER_MILLIS, TimeUnit.MILLISECONDS)
+                            .execute(this::flush);
+        }
+    }
+
+    private synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<TodoChange> batch = List.copyOf(pending);
+        pending = new ArrayList<>();
+        publisher.offer(batch, (subscriber, dropped) -> {
+            ((GuardedSubscriber) subscriber).overflow();
+            return false;
+        });
+    }
+
+    /**
+     * Passes signals on to a subscriber, and ends its subscription with an
+     * error if its buffer overflows. The overflow is detected on the thread
+     * changing the list, which must not wait for the subscriber, so the error
+     * is handed to the common pool; the lock keeps it from overlapping a
+     * batch still being delivered.
+     */
+    private static class GuardedSubscriber implements Flow.Subscriber<List<TodoChange>> {
+        private final Flow.Subscriber<? super List<TodoChange>> downstream;
+        /** Null until the publisher has called {@link #onSubscribe}. */
+        private Flow.Subscription subscription;
+        private boolean isTerminated;
+        private volatile boolean isOverflowed;
+
+        GuardedSubscriber(Flow.Subscriber<? super List<TodoChange>> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+            if (isOverflowed) {
+                failOverflowed();
+            }
+        }
+
+        @Override
+        public synchronized void onNext(List<TodoChange> batch) {
+            if (!isTerminated && !isOverflowed) {
+                downstream.onNext(batch);
+            }
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            if (!isTerminated) {
+                isTerminated = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (isOverflowed) {
+                // Completing would hide the missed changes if the error has not run yet
+                failOverflowed();
+            } else if (!isTerminated) {
+                isTerminated = true;
+                downstream.onComplete();
+            }
+        }
+
+        void overflow() {
+            if (!isOverflowed) {
+                isOverflowed = true;
+                ForkJoinPool.commonPool().execute(this::failOverflowed);
+            }
+        }
+
+        /** Cancels and signals the overflow, once subscribed. */
+        private synchronized void failOverflowed() {
+            if (subscription != null && !isTerminated) {
+                subscription.cancel();
+                onError(new IllegalStateException(MESSAGE_OVERFLOW));
+            }
+        }
+    }
+}
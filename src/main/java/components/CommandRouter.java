@@ -1,11 +1,22 @@
 package components;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Stream;
 
+import components.index.SortOrder;
+import components.query.TagFilter;
 import components.task.DeadlineTask;
 import components.task.EventTask;
+import components.task.RecurringTask;
 import components.task.Task;
+import exceptions.ListNotFoundException;
 import exceptions.TaskNotFoundException;
+import metrics.CommandEvent;
+import metrics.Stats;
+import metrics.Tracing;
 import utilities.Data;
 import utilities.DateTime;
 import utilities.EventBus;
@@ -23,21 +34,57 @@ public class CommandRouter implements EventListener {
     private static final String COMMAND_MARK = "mark";
     private static final String COMMAND_DELETE = "delete";
     private static final String COMMAND_FIND = "find";
+    private static final String COMMAND_QUERY = "query";
     private static final String COMMAND_TODO = "todo";
     private static final String COMMAND_DEADLINE = "deadline";
     private static final String COMMAND_EVENT = "event";
+    private static final String COMMAND_RECURRING = "recurring";
     private static final String COMMAND_LIST = "list";
+    private static final String COMMAND_AGENDA = "agenda";
+    private static final String COMMAND_USE = "use";
+    private static final String COMMAND_LISTS = "lists";
+    private static final String COMMAND_NEWLIST = "newlist";
     private static final String COMMAND_HELP = "help";
+    private static final String COMMAND_STATS = "stats";
+    private static final String COMMAND_SUMMARY = "summary";
+    private static final String COMMAND_ARCHIVE = "archive";
     private static final String COMMAND_EXIT = "exit";
+    /** Stats key used for input that matches no command. */
+    private static final String COMMAND_UNKNOWN = "unknown";
+
+    /** Every command name understood by the router. */
+    public static final List<String> COMMANDS = List.of(COMMAND_MARK,
+                    COMMAND_DELETE, COMMAND_FIND, COMMAND_QUERY, COMMAND_TODO,
+                    COMMAND_DEADLINE, COMMAND_EVENT, COMMAND_RECURRING, COMMAND_LIST,
+                    COMMAND_AGENDA, COMMAND_USE, COMMAND_LISTS, COMMAND_NEWLIST,
+                    COMMAND_HELP, COMMAND_STATS, COMMAND_SUMMARY, COMMAND_ARCHIVE,
+                    COMMAND_EXIT);
+
+    /** Flag of find that also searches archived tasks. */
+    private static final String FLAG_ALL = "--all";
+    /** Suffix of find that tolerates typos, as in {@code find~ reprot}. */
+    private static final String SUFFIX_TYPOS = "~";
 
     // Usage messages
     private static final String USAGE_MARK = "Usage: mark <taskNumber>";
-    private static final String USAGE_DELETE = "Usage: delete <taskNumber>";
-    private static final String USAGE_FIND = "Please provide text to find. Usage: find <keywords>";
+    private static final String USAGE_DELETE = "Usage: delete <taskNumber> "
+                    + "(or delete! <taskNumber> to skip confirmation)";
+    private static final String USAGE_FIND = "Please provide text to find. "
+                    + "Usage: find [--all] <keywords> or find~ <words>";
+    private static final String USAGE_QUERY = "Usage: query <terms>, "
+                    + "e.g. query type:deadline done:false before:2025-12-01 text:report";
+    private static final String USAGE_LIST = "Usage: list [--sort deadline|start|status|description [page]] "
+                    + "or list #tag [#tag|#alt] [-#excluded]";
+    private static final String USAGE_USE = "Usage: use <listName>";
+    private static final String USAGE_NEWLIST = "Usage: newlist <listName>";
+    private static final String USAGE_AGENDA = "Usage: agenda <from> <to>, each as yyyy-MM-dd or "
+                    + DateTime.INPUT_DATE_FORMAT;
 
     // User messages
     private static final String MESSAGE_UNKNOWN_COMMAND = "Oopsie! Dumpy doesn't get that. Maybe try again?";
     private static final String MESSAGE_HELP_HINT = "Type 'help' for Dumpy's silly commands!";
+    private static final String MESSAGE_NOTHING_TO_ARCHIVE = "Nothing to archive, no tasks are done yet!";
+    private static final String MESSAGE_ARCHIVED = "Dumpy tucked away %d done task%s. Use find --all to search them.";
     private static final String MESSAGE_GOODBYE = "Bye-bye! Dumpy saved your stuff, hopefully!";
     private static final String MESSAGE_EMPTY_DESCRIPTION = "Task description cannot be empty.";
     private static final String MESSAGE_EMPTY_EVENT_DESCRIPTION = "Event description cannot be empty.";
@@ -45,6 +92,12 @@ public class CommandRouter implements EventListener {
     private static final String MESSAGE_INVALID_START_TIME = "Invalid start time format. Event creation cancelled.";
     private static final String MESSAGE_INVALID_END_TIME = "Invalid end time format. Event creation cancelled.";
     private static final String MESSAGE_EXPECTED_FORMAT = "Expected format: ";
+    private static final String MESSAGE_NOT_DELETED = "Task not deleted.";
+    private static final String MESSAGE_DELETE_STALE = "The list changed before you answered, so Dumpy didn't "
+                    + "delete anything. Please try again.";
+    private static final String MESSAGE_INVALID_REPEAT = "Invalid repeat. Use daily, weekly or a number of days. "
+                    + "Recurring task creation cancelled.";
+    private static final String MESSAGE_INVALID_UNTIL = "Invalid end date. Recurring task creation cancelled.";
 
     // Prompts
     private static final String PROMPT_TASK_DESCRIPTION = "Dumpy wants to know: What's the task?";
@@ -52,17 +105,28 @@ public class CommandRouter implements EventListener {
     private static final String PROMPT_DEADLINE = "When's it due? Dumpy needs the deadline (";
     private static final String PROMPT_START_TIME = "Start time for Dumpy (";
     private static final String PROMPT_END_TIME = "And the end time (";
+    private static final String PROMPT_REPEAT = "How often does it repeat? "
+                    + "(daily, weekly or every N days as a number):";
+    private static final String PROMPT_UNTIL = "Until when? (" + DateTime.INPUT_DATE_FORMAT + ", or "
+                    + RecurringTask.NEVER + "):";
+    private static final String PROMPT_CONFIRM_DELETE = "Are you sure you want to remove this task? (y/N)\n";
+    private final TodoLists lists;
+    /** The current list, updated whenever {@link #lists} switches. */
     private Todo todo;
+    /** Set when the command currently being processed reports an error. */
+    private boolean hasError;
 
     /**
-     * Constructs a new CommandRouter with the specified Todo instance.
-     * Automatically subscribes to the EventBus to receive input events.
+     * Constructs a new CommandRouter over the given open lists, starting with
+     * their current list. Automatically subscribes to the EventBus to receive
+     * input events.
      *
-     * @param todo the Todo instance to manage tasks
+     * @param lists the open task lists to manage
      */
-    public CommandRouter(Todo todo) {
-        assert todo != null : "Todo instance cannot be null";
-        this.todo = todo;
+    public CommandRouter(TodoLists lists) {
+        assert lists != null : "TodoLists instance cannot be null";
+        this.lists = lists;
+        this.todo = lists.current();
         EventBus.subscribe(this);
     }
 
@@ -84,6 +148,8 @@ public class CommandRouter implements EventListener {
     /**
      * Processes a command by parsing it and delegating to the appropriate
      * handler. Automatically saves the todo list after command execution.
+     * The time taken, including the save, is recorded in {@link Stats} and as
+     * a {@link CommandEvent}.
      *
      * @param input the trimmed command string to process
      */
@@ -93,7 +159,34 @@ public class CommandRouter implements EventListener {
                         .isEmpty() : "Input should not be empty after trimming";
         String command = IO.extractCommand(input);
         String args = IO.extractArgs(input, command);
-        switch (command.toLowerCase()) {
+        CommandEvent event = Tracing.isEnabled() ? new CommandEvent() : null;
+        long start = System.nanoTime();
+        hasError = false;
+        try {
+            dispatch(command.toLowerCase(), args);
+            // Save after each command
+            Data.saveListToFile(todo);
+        } catch (RuntimeException e) {
+            hasError = true;
+            throw e;
+        } finally {
+            String name = COMMANDS.contains(command.toLowerCase())
+                            ? command.toLowerCase() : COMMAND_UNKNOWN;
+            Stats.recordCommand(name, System.nanoTime() - start, hasError);
+            if (event != null) {
+                event.complete(name, args.length(), hasError);
+            }
+        }
+    }
+
+    /**
+     * Delegates a parsed command to its handler.
+     *
+     * @param command lower-cased command name
+     * @param args the argument string following the command
+     */
+    private void dispatch(String command, String args) {
+        switch (command) {
         case COMMAND_MARK:
             handleMarkCommand(args);
             break;
@@ -103,6 +196,9 @@ public class CommandRouter implements EventListener {
         case COMMAND_FIND:
             handleFindCommand(args);
             break;
+        case COMMAND_QUERY:
+            handleQueryCommand(args);
+            break;
         case COMMAND_TODO:
             createTodoInteractive();
             break;
@@ -112,28 +208,59 @@ public class CommandRouter implements EventListener {
         case COMMAND_EVENT:
             createEventInteractive();
             break;
+        case COMMAND_RECURRING:
+            createRecurringInteractive();
+            break;
         case COMMAND_LIST:
-            handleListCommand();
+            handleListCommand(args);
+            break;
+        case COMMAND_AGENDA:
+            handleAgendaCommand(args);
+            break;
+        case COMMAND_USE:
+            handleUseCommand(args);
+            break;
+        case COMMAND_LISTS:
+            handleListsCommand();
+            break;
+        case COMMAND_NEWLIST:
+            handleNewListCommand(args);
             break;
         case COMMAND_HELP:
             handleHelpCommand();
             break;
+        case COMMAND_STATS:
+            handleStatsCommand();
+            break;
+        case COMMAND_SUMMARY:
+            handleSummaryCommand();
+            break;
+        case COMMAND_ARCHIVE:
+            handleArchiveCommand();
+            break;
         case COMMAND_EXIT:
             handleExitCommand();
             break;
         default:
             handleUnknownCommand();
         }
+    }
 
-        // Save after each command
-        Data.saveListToFile(todo);
+    /**
+     * Publishes an error message and marks the current command as failed.
+     *
+     * @param message the error message to publish
+     */
+    private void publishError(String message) {
+        hasError = true;
+        EventBus.publish(message, false);
     }
 
     /**
      * Handles unknown commands by providing appropriate error messages.
      */
     private void handleUnknownCommand() {
-        EventBus.publish(MESSAGE_UNKNOWN_COMMAND, false);
+        publishError(MESSAGE_UNKNOWN_COMMAND);
         EventBus.publish(MESSAGE_HELP_HINT, false);
     }
 
@@ -146,7 +273,7 @@ public class CommandRouter implements EventListener {
     private void handleMarkCommand(String args) {
         Integer taskNumber = IO.parseIntArg(args);
         if (taskNumber == null) {
-            EventBus.publish(USAGE_MARK, false);
+            publishError(USAGE_MARK);
             return;
         }
 
@@ -157,29 +284,61 @@ public class CommandRouter implements EventListener {
             EventBus.publish(String.format("Yay! Dumpy marked it %s:", result),
                             false);
         } catch (TaskNotFoundException e) {
-            EventBus.publish(e.getMessage(), false);
+            publishError(e.getMessage());
         }
     }
 
     /**
-     * Handles the delete command to remove a task from the list. Validates the
-     * task number argument and provides appropriate feedback.
+     * Handles the delete command to remove a task from the list. Asks for
+     * confirmation through the event bus unless the command is written as
+     * {@code delete!}, which deletes immediately. Never blocks waiting for
+     * input.
      *
-     * @param args the argument string containing the task number
+     * @param args the argument string containing the task number, prefixed
+     *            with {@code !} to skip confirmation
      */
     private void handleDeleteCommand(String args) {
-        Integer taskNumber = IO.parseIntArg(args);
+        boolean isForced = args.startsWith("!");
+        Integer taskNumber = IO.parseIntArg(isForced ? args.substring(1) : args);
         if (taskNumber == null) {
-            EventBus.publish(USAGE_DELETE, false);
+            publishError(USAGE_DELETE);
             return;
         }
 
         try {
             assert taskNumber != null : "Task number should be validated before calling deleteTask";
-            String result = todo.deleteTask(taskNumber);
-            EventBus.publish(result, false);
+            if (isForced) {
+                EventBus.publish(todo.deleteTask(taskNumber), false);
+                return;
+            }
+
+            // Confirmation because Prof Ben taught me the 4 SWE Principles
+            // The list may change, or be switched, before the answer arrives
+            Todo target = todo;
+            Task task = target.getTask(taskNumber);
+            int taskId = target.getTaskId(taskNumber);
+            // An external edit can replace the task in place under the same id
+            String encoded = task.encodeData();
+            EventBus.publish(PROMPT_CONFIRM_DELETE + task.getDescription(), false);
+            EventBus.getInputAsync(confirmation -> {
+                if (!confirmation.trim().equals("y")) {
+                    EventBus.publish(MESSAGE_NOT_DELETED, false);
+                    return;
+                }
+                try {
+                    if (target.getTaskId(taskNumber) != taskId
+                                    || !target.getTask(taskNumber).encodeData().equals(encoded)) {
+                        EventBus.publish(MESSAGE_DELETE_STALE, false);
+                        return;
+                    }
+                    EventBus.publish(target.deleteTask(taskNumber), false);
+                    Data.saveListToFile(target);
+                } catch (TaskNotFoundException e) {
+                    EventBus.publish(MESSAGE_DELETE_STALE, false);
+                }
+            });
         } catch (TaskNotFoundException e) {
-            EventBus.publish(e.getMessage(), false);
+            publishError(e.getMessage());
         }
     }
 
@@ -187,28 +346,206 @@ public class CommandRouter implements EventListener {
      * Handles the find command to search for tasks by description keywords.
      * Validates that search keywords are provided and performs the search.
      *
-     * @param args the argument string containing search keywords
+     * @param args the argument string containing search keywords, prefixed
+     *            with {@code ~} to tolerate typos
      */
     private void handleFindCommand(String args) {
+        if (args.startsWith(SUFFIX_TYPOS)) {
+            handleTypoFindCommand(args.substring(SUFFIX_TYPOS.length()));
+            return;
+        }
         if (args.isBlank()) {
-            EventBus.publish(USAGE_FIND, false);
+            publishError(USAGE_FIND);
+            return;
+        }
+
+        boolean isAll = args.equals(FLAG_ALL) || args.startsWith(FLAG_ALL + " ");
+        String searchTerm = isAll ? args.substring(FLAG_ALL.length()) : args;
+        if (searchTerm.isBlank()) {
+            publishError(USAGE_FIND);
             return;
         }
 
         try {
-            String result = todo.fuzzyFindTasks(args);
+            String result = todo.fuzzyFindTasks(searchTerm);
+            if (isAll) {
+                try (Stream<Task> archived = Data.readArchive(todo.getName())) {
+                    result += todo.fuzzyFindArchived(searchTerm, archived);
+                }
+            }
             EventBus.publish(result, false);
         } catch (IllegalArgumentException e) {
-            EventBus.publish(e.getMessage(), false);
+            publishError(e.getMessage());
         }
     }
 
     /**
-     * Handles the list command to display all tasks.
+     * Handles find~, which finds tasks whose description words are within a
+     * couple of edits of the search words.
+     *
+     * @param args the argument string containing search words
      */
-    private void handleListCommand() {
-        String result = todo.listTasks();
-        EventBus.publish(result, false);
+    private void handleTypoFindCommand(String args) {
+        if (args.isBlank()) {
+            publishError(USAGE_FIND);
+            return;
+        }
+
+        try {
+            EventBus.publish(todo.typoFindTasks(args), false);
+        } catch (IllegalArgumentException e) {
+            publishError(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the query command to filter tasks by type, status, time and
+     * description words.
+     *
+     * @param args the argument string containing the query terms
+     */
+    private void handleQueryCommand(String args) {
+        if (args.isBlank()) {
+            publishError(USAGE_QUERY);
+            return;
+        }
+
+        try {
+            EventBus.publish(todo.query(args), false);
+        } catch (IllegalArgumentException e) {
+            publishError(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the list command to display all tasks, either in list order or,
+     * with {@code --sort <field> [page]}, one page at a time in sorted order.
+     *
+     * @param args the argument string, empty or the sort options
+     */
+    private void handleListCommand(String args) {
+        if (args.isBlank()) {
+            EventBus.publish(todo.listTasks(), false);
+            return;
+        }
+        if (TagFilter.isTagFilter(args)) {
+            try {
+                EventBus.publish(todo.listTagged(args), false);
+            } catch (IllegalArgumentException e) {
+                publishError(e.getMessage());
+            }
+            return;
+        }
+
+        String[] parts = args.trim().split("\\s+");
+        if (parts.length < 2 || parts.length > 3 || !parts[0].equals("--sort")) {
+            publishError(USAGE_LIST);
+            return;
+        }
+        SortOrder order;
+        try {
+            order = SortOrder.valueOf(parts[1].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            publishError(USAGE_LIST);
+            return;
+        }
+        Integer page = parts.length == 3 ? IO.parseIntArg(parts[2]) : Integer.valueOf(1);
+        if (page == null) {
+            publishError(USAGE_LIST);
+            return;
+        }
+        EventBus.publish(todo.listSorted(order, page), false);
+    }
+
+    /**
+     * Handles the agenda command to display events overlapping a time window.
+     * Accepts either two dates, covering whole days from the start of the
+     * first to the end of the second, or two full date-times.
+     *
+     * @param args the argument string containing the window bounds
+     */
+    private void handleAgendaCommand(String args) {
+        String[] parts = args.trim().split("\\s+");
+        LocalDateTime from;
+        LocalDateTime to;
+        try {
+            if (parts.length == 2) {
+                from = LocalDate.parse(parts[0]).atStartOfDay();
+                to = LocalDate.parse(parts[1]).plusDays(1).atStartOfDay();
+            } else if (parts.length == 4) {
+                from = DateTime.parseDateTime(parts[0] + " " + parts[1]);
+                to = DateTime.parseDateTime(parts[2] + " " + parts[3]);
+            } else {
+                publishError(USAGE_AGENDA);
+                return;
+            }
+        } catch (DateTimeParseException e) {
+            publishError(USAGE_AGENDA);
+            return;
+        }
+
+        EventBus.publish(todo.listAgenda(from, to), false);
+    }
+
+    /**
+     * Handles the use command to switch to another task list, loading it if
+     * it is not open.
+     *
+     * @param args the argument string containing the list name
+     */
+    private void handleUseCommand(String args) {
+        String name = args.trim();
+        if (name.isEmpty()) {
+            publishError(USAGE_USE);
+            return;
+        }
+
+        try {
+            todo = lists.use(name);
+            EventBus.publish(String.format("Dumpy switched to %s (%d tasks).", name,
+                            todo.size()), false);
+        } catch (ListNotFoundException e) {
+            publishError(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the lists command to show every task list, marking the current
+     * one and those held in memory.
+     */
+    private void handleListsCommand() {
+        StringBuilder sb = new StringBuilder("Here are your lists:\n");
+        for (String name : Data.listNames()) {
+            sb.append(name.equals(todo.getName()) ? "* " : "  ").append(name);
+            Todo open = lists.getIfOpen(name);
+            if (open != null) {
+                sb.append(" (").append(open.size()).append(" tasks)");
+            }
+            sb.append("\n");
+        }
+        EventBus.publish(sb.toString(), false);
+    }
+
+    /**
+     * Handles the newlist command to create an empty task list and switch to
+     * it.
+     *
+     * @param args the argument string containing the list name
+     */
+    private void handleNewListCommand(String args) {
+        String name = args.trim();
+        if (name.isEmpty()) {
+            publishError(USAGE_NEWLIST);
+            return;
+        }
+
+        try {
+            todo = lists.create(name);
+            EventBus.publish(String.format("Dumpy made a new list %s and switched to it.",
+                            name), false);
+        } catch (IllegalArgumentException e) {
+            publishError(e.getMessage());
+        }
     }
 
     /**
@@ -221,14 +558,30 @@ public class CommandRouter implements EventListener {
 
                         Task Management:
                         • list - Show all tasks
+                        • list --sort <field> [page] - Sort by deadline, start, status or description
+                        • list #a #b|#c -#d - Tasks tagged a and b or c, but not d
                         • todo - Add a todo task (interactive)
                         • deadline - Add a deadline task (interactive)
                         • event - Add an event task (interactive)
+                        • recurring - Add a repeating event (interactive)
                         • mark <number> - Toggle task completion status
-                        • delete <number> - Delete a task
+                        • delete <number> - Delete a task (asks to confirm)
+                        • delete! <number> - Delete a task without confirming
                         • find <keywords> - Find tasks by description
+                        • find --all <keywords> - Also search archived tasks
+                        • find~ <words> - Find tasks allowing for typos in each word
+                        • archive - Move done tasks out of the list into its archive
+                        • query <terms> - Filter by type:, done:, before:, after:, text:
+                        • agenda <from> <to> - Show events in a date range
+                        • summary - Count tasks by type and status, overdue and due soon
+
+                        Lists:
+                        • lists - Show all task lists
+                        • use <name> - Switch to another task list
+                        • newlist <name> - Create a task list and switch to it
 
                         Other:
+                        • stats - Show command latency and storage statistics
                         • help - Show this help message
                         • exit - Exit the application
 
@@ -237,6 +590,36 @@ public class CommandRouter implements EventListener {
         EventBus.publish(help, false);
     }
 
+    /**
+     * Handles the stats command to display command latency and persistence
+     * statistics.
+     */
+    private void handleStatsCommand() {
+        EventBus.publish(Stats.report(), false);
+    }
+
+    /**
+     * Handles the summary command to display the live counts of the current
+     * list.
+     */
+    private void handleSummaryCommand() {
+        EventBus.publish(todo.summary(), false);
+    }
+
+    /**
+     * Handles the archive command to move every done task of the current list
+     * to its archive file.
+     */
+    private void handleArchiveCommand() {
+        int archived = Data.archiveDoneTasks(todo, task -> true);
+        if (archived == 0) {
+            EventBus.publish(MESSAGE_NOTHING_TO_ARCHIVE, false);
+            return;
+        }
+        EventBus.publish(String.format(MESSAGE_ARCHIVED, archived, archived == 1 ? "" : "s"),
+                        false);
+    }
+
     /**
      * Handles the exit command to save tasks and display goodbye message.
      */
@@ -319,9 +702,13 @@ public class CommandRouter implements EventListener {
                         try {
                             LocalDateTime endTime = DateTime
                                             .parseDateTime(endInput.trim());
-                            Task task = new EventTask(description.trim(),
+                            EventTask task = new EventTask(description.trim(),
                                             startTime, endTime);
+                            String conflicts = todo.describeConflicts(task);
                             addTaskAndSave(task);
+                            if (conflicts != null) {
+                                EventBus.publish(conflicts, false);
+                            }
                         } catch (Exception e) {
                             publishDateError(MESSAGE_INVALID_END_TIME);
                         }
@@ -333,6 +720,87 @@ public class CommandRouter implements EventListener {
         });
     }
 
+    /**
+     * Creates a new recurring task through interactive prompts. Prompts the
+     * user for a description, the start and end of the first occurrence, how
+     * often it repeats and until when, creating the task upon valid input for
+     * all fields.
+     */
+    private void createRecurringInteractive() {
+        EventBus.publish(PROMPT_EVENT_DESCRIPTION, false);
+
+        EventBus.getInputAsync(description -> {
+            if (isEmptyEventDescription(description)) {
+                return;
+            }
+
+            EventBus.publish(PROMPT_START_TIME + DateTime.INPUT_DATE_FORMAT
+                            + "):", false);
+
+            EventBus.getInputAsync(startInput -> {
+                try {
+                    LocalDateTime startTime = DateTime
+                                    .parseDateTime(startInput.trim());
+                    EventBus.publish(PROMPT_END_TIME
+                                    + DateTime.INPUT_DATE_FORMAT + "):", false);
+
+                    EventBus.getInputAsync(endInput -> {
+                        try {
+                            LocalDateTime endTime = DateTime
+                                            .parseDateTime(endInput.trim());
+                            EventBus.publish(PROMPT_REPEAT, false);
+                            EventBus.getInputAsync(repeatInput -> {
+                                int intervalDays = parseRepeat(repeatInput);
+                                if (intervalDays <= 0) {
+                                    publishError(MESSAGE_INVALID_REPEAT);
+                                    return;
+                                }
+                                EventBus.publish(PROMPT_UNTIL, false);
+                                EventBus.getInputAsync(untilInput -> {
+                                    try {
+                                        String until = untilInput.trim();
+                                        addTaskAndSave(new RecurringTask(description.trim(),
+                                                        startTime, endTime, intervalDays,
+                                                        until.equalsIgnoreCase(RecurringTask.NEVER) ? null
+                                                                        : DateTime.parseDateTime(until)));
+                                    } catch (Exception e) {
+                                        publishDateError(MESSAGE_INVALID_UNTIL);
+                                    }
+                                });
+                            });
+                        } catch (Exception e) {
+                            publishDateError(MESSAGE_INVALID_END_TIME);
+                        }
+                    });
+                } catch (Exception e) {
+                    publishDateError(MESSAGE_INVALID_START_TIME);
+                }
+            });
+        });
+    }
+
+    /**
+     * Parses a repeat interval given as daily, weekly or a number of days.
+     *
+     * @param input raw user input
+     * @return interval in days, or 0 if the input is not valid
+     */
+    private static int parseRepeat(String input) {
+        String repeat = input.trim().toLowerCase();
+        switch (repeat) {
+        case "daily":
+            return 1;
+        case "weekly":
+            return 7;
+        default:
+            try {
+                return Math.max(Integer.parseInt(repeat), 0);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+
     /**
      * Checks if the provided description is empty and publishes error message
      * if so.
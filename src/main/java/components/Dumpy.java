@@ -1,6 +1,12 @@
 package components;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import utilities.Data;
+import utilities.DataWatcher;
+import utilities.EventBus;
 
 /**
  * Application bootstrap class containing the {@code main} entry point.
@@ -24,15 +30,90 @@ public class Dumpy {
                                     ██████╔╝╚██████╔╝██║ ╚═╝ ██║██║        ██║
                                     ╚═════╝  ╚═════╝ ╚═╝     ╚═╝╚═╝        ╚═╝
                                     """;
+    private static final String MESSAGE_LOADING = "Dumpy is loading %d tasks...";
+
     private CommandRouter commandRouter;
-    private Todo todo;
+    private TodoLists lists;
 
     /**
      * Constructs a new Dumpy instance. Initializes the todo list by reading
      * from persistent storage and sets up the command router.
      */
     public Dumpy() {
-        this.todo = Data.readListFromFile();
-        this.commandRouter = new CommandRouter(todo);
+        this(Data.readListFromFile());
+    }
+
+    /**
+     * Constructs a new Dumpy instance around an already loaded todo list, which
+     * starts out as the current list, and sets up the command router. Reminders are published from the timer
+     * thread, and the data file is not watched, as there is no UI thread to
+     * merge outside changes on.
+     *
+     * @param todo the loaded current todo list
+     */
+    public Dumpy(Todo todo) {
+        this(todo, Runnable::run, false);
+    }
+
+    /**
+     * Constructs a new Dumpy instance around an already loaded todo list, sets
+     * up the command router, schedules reminders for pending deadlines and
+     * events, starts merging changes other processes make to the data
+     * files of open lists, and completes input from the words of the current
+     * list, see {@link Autocomplete}.
+     *
+     * @param todo the loaded current todo list
+     * @param uiExecutor executor reminders are published and outside changes
+     *            merged on
+     */
+    public Dumpy(Todo todo, Executor uiExecutor) {
+        this(todo, uiExecutor, true);
+    }
+
+    private Dumpy(Todo todo, Executor uiExecutor, boolean isWatched) {
+        this.lists = new TodoLists(todo, uiExecutor);
+        this.commandRouter = new CommandRouter(lists);
+        if (isWatched) {
+            lists.indexWords();
+            Autocomplete.setSource(() -> lists.current().getWordTrie());
+            try {
+                DataWatcher.start(lists::getIfOpen, uiExecutor);
+            } catch (IOException e) {
+                System.out.println("Unable to watch the data file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads the todo list on a background thread so that the caller can build
+     * its UI at the same time. Input received before loading completes is
+     * queued and replayed, in order, once the command router is ready. The
+     * progress message, the hand-over and the replay all run on
+     * {@code uiExecutor}.
+     *
+     * @param uiExecutor executor for the UI thread (e.g. Platform::runLater)
+     * @return future completed on the UI executor with the ready Dumpy
+     */
+    public static CompletableFuture<Dumpy> loadAsync(Executor uiExecutor) {
+        PendingInputs pending = new PendingInputs();
+        EventBus.subscribe(pending);
+
+        return CompletableFuture
+                        .supplyAsync(() -> Data.readListFromFile(count -> {
+                            if (count > 0) {
+                                uiExecutor.execute(() -> EventBus.publish(
+                                                String.format(MESSAGE_LOADING, count), false));
+                            }
+                        }))
+                        .thenApply(todo -> {
+                            // Index here rather than tie up the UI thread
+                            todo.indexWords();
+                            return todo;
+                        })
+                        .thenApplyAsync(todo -> {
+                            Dumpy dumpy = new Dumpy(todo, uiExecutor);
+                            pending.replay();
+                            return dumpy;
+                        }, uiExecutor);
     }
 }
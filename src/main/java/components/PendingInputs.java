@@ -0,0 +1,37 @@
+package components;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import utilities.EventBus;
+import utilities.EventListener;
+
+/**
+ * Holds user input that arrives while the todo list is still loading, so it
+ * can be handed to the command router once it exists.
+ */
+class PendingInputs implements EventListener {
+    private final List<String> inputs = new ArrayList<>();
+
+    @Override
+    public void onMessage(String message, boolean isUser) {
+        // Only input needs to be held back
+    }
+
+    @Override
+    public void onInput(String input) {
+        inputs.add(input);
+    }
+
+    /**
+     * Stops queueing and re-submits every queued input to the event bus in
+     * arrival order. Must run on the thread that delivers input.
+     */
+    void replay() {
+        EventBus.unsubscribe(this);
+        for (String input : inputs) {
+            EventBus.addInput(input);
+        }
+        inputs.clear();
+    }
+}
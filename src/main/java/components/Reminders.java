@@ -0,0 +1,259 @@
+package components;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import utilities.DateTime;
+import utilities.EventBus;
+import utilities.SlotTimer;
+
+/**
+ * Publishes a reminder shortly before each pending deadline is due and each
+ * pending event starts. Reminders cost no CPU until one fires; completing or
+ * deleting a task cancels its reminder and un-marking it schedules the
+ * reminder again. Recurring tasks have one reminder at a time, for their next
+ * occurrence.
+ * <p>
+ * Only the minute and task id of a reminder are held while it waits, as
+ * {@code minute << 32 | id} keys in a primitive array sorted lazily as in
+ * {@link components.index.QueryIndex}, with the minute each id is currently
+ * due a reminder at to tell cancelled keys apart. A single action on a
+ * {@link SlotTimer} waits for the earliest key. The task is looked up and the
+ * message rendered when the reminder fires, on the UI executor, and a task
+ * that is gone or done by then is skipped.
+ * <p>
+ * How long before the due time a reminder fires is read from the
+ * {@value #LEAD_PROPERTY} system property, in minutes. Changes and timer
+ * actions come from different threads, so the keys are guarded by the
+ * instance lock.
+ */
+public class Reminders implements TodoListener {
+    /** System property holding the reminder lead time in minutes. */
+    public static final String LEAD_PROPERTY = "dumpy.reminderLead";
+    private static final int DEFAULT_LEAD_MINUTES = 60;
+    private static final String MESSAGE_DEADLINE = "Reminder! This is due at %s:\n%s";
+    private static final String MESSAGE_EVENT = "Reminder! This starts at %s:\n%s";
+    /** Reminders are only scheduled for future due times, so no real one is at minute 0. */
+    private static final int NONE = 0;
+
+    private final SlotTimer timer = new SlotTimer("dumpy-reminders");
+    private final Executor uiExecutor;
+    private final IntFunction<Task> taskById;
+    private final long leadMinutes;
+
+    /** {@code minute << 32 | id}; keys before {@link #first} have fired. */
+    private long[] keys = new long[16];
+    private int first;
+    private int keyCount;
+    private boolean isSorted = true;
+    /** Minute each id is due a reminder at, or {@link #NONE}. */
+    private int[] minuteOfId = new int[16];
+    private int pending;
+    /** Minute the timer is armed for, or {@link Long#MAX_VALUE} if idle. */
+    private long armedFor = Long.MAX_VALUE;
+
+    /**
+     * Creates a reminder scheduler that publishes through {@link EventBus} on
+     * the given executor.
+     *
+     * @param uiExecutor executor for the UI thread (e.g. Platform::runLater)
+     * @param taskById looks up a task by id on the UI thread, returning null
+     *            if it was removed (e.g. {@link Todo#findTask(int)})
+     */
+    public Reminders(Executor uiExecutor, IntFunction<Task> taskById) {
+        this.uiExecutor = uiExecutor;
+        this.taskById = taskById;
+        this.leadMinutes = Integer.getInteger(LEAD_PROPERTY, DEFAULT_LEAD_MINUTES);
+    }
+
+    @Override
+    public synchronized void onTaskAdded(int id, int position, Task task) {
+        schedule(id, task, LocalDateTime.now());
+    }
+
+    @Override
+    public synchronized void onTaskToggled(int id, int position, Task task) {
+        if (task.isDone()) {
+            cancel(id);
+        } else {
+            schedule(id, task, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    public synchronized void onTaskRemoved(int id, int position, Task task) {
+        cancel(id);
+    }
+
+    /**
+     * Cancels every reminder, for a list that is no longer open.
+     */
+    public synchronized void close() {
+        timer.close();
+        keys = new long[0];
+        first = 0;
+        keyCount = 0;
+        minuteOfId = new int[0];
+        pending = 0;
+    }
+
+    /**
+     * Returns the number of reminders still to fire.
+     *
+     * @return pending reminder count
+     */
+    public synchronized int pending() {
+        return pending;
+    }
+
+    @Override
+    public synchronized long estimatedBytes() {
+        return keys.length * 8L + minuteOfId.length * 4L;
+    }
+
+    /**
+     * Schedules the reminder for the first due time of the task after
+     * {@code from}, if it has one, in place of any it already has.
+     */
+    private synchronized void schedule(int id, Task task, LocalDateTime from) {
+        LocalDateTime due = dueAfter(task, from);
+        if (task.isDone() || due == null) {
+            cancel(id);
+            return;
+        }
+        int minute = (int) (DateTime.toEpochMinute(due) - leadMinutes);
+        if (id >= minuteOfId.length) {
+            minuteOfId = Arrays.copyOf(minuteOfId, Math.max(id + 1, minuteOfId.length * 2));
+        }
+        if (minuteOfId[id] == minute) {
+            return;
+        }
+        if (minuteOfId[id] == NONE) {
+            pending++;
+        }
+        minuteOfId[id] = minute;
+        addKey(((long) minute << 32) | id);
+        if (minute < armedFor) {
+            armedFor = minute;
+            timer.schedule(this, minute, this::onTick);
+        }
+    }
+
+    private void cancel(int id) {
+        if (id < minuteOfId.length && minuteOfId[id] != NONE) {
+            minuteOfId[id] = NONE;
+            pending--;
+        }
+    }
+
+    /**
+     * Timer action: hands every reminder that is due to the UI executor, then
+     * re-arms for the earliest one left. Keys whose id is no longer due a
+     * reminder at their minute were cancelled or rescheduled and are skipped.
+     */
+    private void onTick() {
+        List<long[]> due = new ArrayList<>();
+        synchronized (this) {
+            armedFor = Long.MAX_VALUE;
+            ensureSorted();
+            long now = DateTime.toEpochMinute(LocalDateTime.now());
+            while (first < keyCount && keys[first] >> 32 <= now) {
+                long key = keys[first++];
+                int id = (int) key;
+                int minute = (int) (key >> 32);
+                if (minuteOfId[id] == minute) {
+                    minuteOfId[id] = NONE;
+                    pending--;
+                    due.add(new long[] {id, minute});
+                }
+            }
+            if (first < keyCount) {
+                armedFor = keys[first] >> 32;
+                timer.schedule(this, armedFor, this::onTick);
+            }
+        }
+        for (long[] reminder : due) {
+            uiExecutor.execute(() -> fire((int) reminder[0], reminder[1]));
+        }
+    }
+
+    private void addKey(long key) {
+        if (keyCount == keys.length) {
+            ensureSorted();
+            if (keyCount == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(16, keyCount * 2));
+            }
+        }
+        if (keyCount > first && key < keys[keyCount - 1]) {
+            isSorted = false;
+        }
+        keys[keyCount++] = key;
+    }
+
+    /**
+     * Drops fired and stale keys once they make up half the array, and sorts
+     * keys added out of order. Both are deferred to when the array is full or
+     * the timer fires, so that loading and toggling stay cheap.
+     */
+    private void ensureSorted() {
+        // Every pending reminder has a key from first on; more than one if
+        // cancelled and rescheduled for the same minute, but only one fires
+        if ((keyCount - pending) * 2 > keyCount) {
+            int kept = 0;
+            for (int i = first; i < keyCount; i++) {
+                int id = (int) keys[i];
+                if (minuteOfId[id] == (int) (keys[i] >> 32)) {
+                    keys[kept++] = keys[i];
+                }
+            }
+            first = 0;
+            keyCount = kept;
+        }
+        if (!isSorted) {
+            Arrays.sort(keys, first, keyCount);
+            isSorted = true;
+        }
+    }
+
+    /**
+     * Publishes the reminder scheduled for the given minute if its task is
+     * still pending, and re-arms a recurring task for its next occurrence.
+     */
+    private void fire(int id, long minute) {
+        Task task = taskById.apply(id);
+        LocalDateTime due = DateTime.fromEpochMinute(minute + leadMinutes);
+        // A task replaced in place since keeps its id but may be due at another time
+        if (task == null || task.isDone() || !due.equals(dueAfter(task, due.minusMinutes(1)))) {
+            return;
+        }
+        String format = task instanceof DeadlineTask ? MESSAGE_DEADLINE : MESSAGE_EVENT;
+        EventBus.publish(String.format(format, DateTime.printDateTime(due), task), false);
+        if (task instanceof RecurringTask) {
+            // Strictly after, as the occurrence that fired is itself due from then
+            schedule(id, task, due.plusMinutes(1));
+        }
+    }
+
+    /** Returns the first due time of the task after {@code from}, or null if none. */
+    private static LocalDateTime dueAfter(Task task, LocalDateTime from) {
+        LocalDateTime due;
+        if (task instanceof DeadlineTask) {
+            due = ((DeadlineTask) task).getDeadline();
+        } else if (task instanceof EventTask) {
+            due = ((EventTask) task).getStartTime();
+        } else if (task instanceof RecurringTask) {
+            due = ((RecurringTask) task).nextOccurrence(from);
+        } else {
+            return null;
+        }
+        return due != null && due.isAfter(from) ? due : null;
+    }
+}
@@ -0,0 +1,99 @@
+package components;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import metrics.Stats;
+
+/**
+ * Least-recently-used cache of rendered results for one {@link Todo}. Each
+ * result is stored with the list version it was rendered at and only served
+ * while the list is still at that version, so any change to the list makes
+ * every cached result a miss without having to clear anything. Results are
+ * evicted least recently used first once their estimated size passes the
+ * budget; results larger than the whole budget are not cached.
+ * <p>
+ * Not thread-safe, like {@link Todo}. Hits, misses and evictions are counted
+ * in {@link Stats}.
+ */
+final class ResultCache {
+    /** Rough per-entry cost of the map node, entry and key objects. */
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxBytes;
+    private long bytes;
+
+    private static class Entry {
+        private final long version;
+        private final String result;
+        private final long bytes;
+
+        Entry(String key, long version, String result) {
+            this.version = version;
+            this.result = result;
+            // Upper bound: strings hold at most two bytes per char
+            this.bytes = ENTRY_OVERHEAD_BYTES + 2L * (key.length() + result.length());
+        }
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxBytes estimated size the cached results may take up
+     */
+    ResultCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the result cached under the key at the given version, or
+     * renders, caches and returns it. Exceptions from {@code render} are
+     * passed on and nothing is cached.
+     *
+     * @param key identifies the command and its arguments
+     * @param version current version of the list
+     * @param render renders the result on a miss
+     * @return the result
+     */
+    String get(String key, long version, Supplier<String> render) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == version) {
+            Stats.recordResultCacheLookup(true);
+            return entry.result;
+        }
+        Stats.recordResultCacheLookup(false);
+
+        String result = render.get();
+        if (entry != null) {
+            entries.remove(key);
+            bytes -= entry.bytes;
+        }
+        Entry rendered = new Entry(key, version, result);
+        if (rendered.bytes <= maxBytes) {
+            entries.put(key, rendered);
+            bytes += rendered.bytes;
+            evictOverBudget();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the estimated size of the cached results.
+     *
+     * @return size in bytes
+     */
+    long bytes() {
+        return bytes;
+    }
+
+    private void evictOverBudget() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            Stats.recordResultCacheEviction();
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package components;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import components.task.TaskType;
+import utilities.DateTime;
+import utilities.SlotTimer;
+
+/**
+ * Keeps live counts of a todo list: tasks per type, done and pending, and
+ * how many pending tasks are overdue or due soon. Every count is read in
+ * O(1).
+ * <p>
+ * Counts that change with the clock are not found by scanning. Pending
+ * deadlines and events are kept only as {@code minute << 32 | id} keys in a
+ * primitive array, sorted lazily as in {@link components.index.QueryIndex},
+ * and the counts are kept for one minute, {@code asOf}. A single action on a
+ * {@link SlotTimer} waits for the next minute any key enters the week window
+ * or passes, then moves {@code asOf} forward and recounts only the keys
+ * between the old and new window edges. Pending recurring tasks are few, so
+ * they are kept whole in their own map and rescanned on every tick. The
+ * windows match {@link Task#isDueSoon(LocalDateTime)}, to the minute.
+ * Changes and timer actions may come from different threads, so all methods
+ * are synchronized.
+ */
+public class TaskAggregates implements TodoListener {
+    private static final long WEEK_MINUTES = 7 * 24 * 60;
+    /** Rough cost of a recurring task held whole, with its map and set entries. */
+    private static final long RECURRING_BYTES = 200;
+
+    private final SlotTimer timer = new SlotTimer("dumpy-aggregates");
+    private final int[] countOfType = new int[TaskType.values().length];
+    private int total;
+    private int done;
+    private int dueSoon;
+    private int overdue;
+    /** Minute that {@link #dueSoon} and {@link #overdue} are counted for. */
+    private long asOf = DateTime.toEpochMinute(LocalDateTime.now());
+    /** Minute the timer is armed for, or {@link Long#MAX_VALUE} if idle. */
+    private long armedFor = Long.MAX_VALUE;
+
+    /** {@code minute << 32 | id}; keys of ids no longer pending stay until the next compaction. */
+    private long[] dueKeys = new long[16];
+    private int dueKeyCount;
+    private int staleDueKeys;
+    private boolean isDueSorted = true;
+    /** Ids of pending deadlines and events, whose keys count. */
+    private final BitSet pendingDue = new BitSet();
+    private final BitSet deadlines = new BitSet();
+    /** One past the largest id added; new tasks always get a larger id. */
+    private int nextId;
+
+    /** Pending recurring tasks that still have an occurrence ahead, by id. */
+    private final Map<Integer, RecurringTask> recurring = new HashMap<>();
+    /** Ids of the recurring tasks with an occurrence starting within a week. */
+    private final Set<Integer> recurringSoon = new HashSet<>();
+
+    @Override
+    public synchronized void onTaskAdded(int id, int position, Task task) {
+        total++;
+        countOfType[task.getType().ordinal()]++;
+        if (task.isDone()) {
+            done++;
+        }
+        track(id, task);
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    @Override
+    public synchronized void onTaskToggled(int id, int position, Task task) {
+        done += task.isDone() ? 1 : -1;
+        untrack(id, task);
+        track(id, task);
+    }
+
+    @Override
+    public synchronized void onTaskRemoved(int id, int position, Task task) {
+        total--;
+        countOfType[task.getType().ordinal()]--;
+        if (task.isDone()) {
+            done--;
+        }
+        untrack(id, task);
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return task count
+     */
+    public synchronized int total() {
+        return total;
+    }
+
+    /**
+     * Returns the number of tasks of the given type.
+     *
+     * @param type task type
+     * @return task count of the type
+     */
+    public synchronized int countOf(TaskType type) {
+        return countOfType[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of tasks marked done.
+     *
+     * @return done task count
+     */
+    public synchronized int done() {
+        return done;
+    }
+
+    /**
+     * Returns the number of tasks not yet done.
+     *
+     * @return pending task count
+     */
+    public synchronized int pending() {
+        return total - done;
+    }
+
+    /**
+     * Returns the number of pending tasks due within the next week.
+     *
+     * @return due-soon task count
+     */
+    public synchronized int dueSoon() {
+        return dueSoon;
+    }
+
+    /**
+     * Returns the number of pending deadlines that have passed.
+     *
+     * @return overdue task count
+     */
+    public synchronized int overdue() {
+        return overdue;
+    }
+
+    /**
+     * Returns the earliest next occurrence of a pending recurring task. Until
+     * the clock passes it, every such task still has the same next
+     * occurrence.
+     *
+     * @param now reference time
+     * @return earliest next occurrence start, or null if no pending recurring
+     *         task has one
+     */
+    public synchronized LocalDateTime nextRecurringOccurrence(LocalDateTime now) {
+        LocalDateTime earliest = null;
+        for (RecurringTask rule : recurring.values()) {
+            LocalDateTime next = rule.nextOccurrence(now);
+            if (next != null && (earliest == null || next.isBefore(earliest))) {
+                earliest = next;
+            }
+        }
+        return earliest;
+    }
+
+    @Override
+    public synchronized long estimatedBytes() {
+        return dueKeys.length * 8L + (pendingDue.size() + deadlines.size()) / 8
+                        + recurring.size() * RECURRING_BYTES;
+    }
+
+    /**
+     * Stops updating the clock-dependent counts, for a list that is no longer
+     * open.
+     */
+    public synchronized void close() {
+        timer.close();
+    }
+
+    private void track(int id, Task task) {
+        if (task.isDone()) {
+            return;
+        }
+        if (task instanceof RecurringTask) {
+            catchUp(DateTime.toEpochMinute(LocalDateTime.now()));
+            recurring.put(id, (RecurringTask) task);
+            if (!refreshRecurring(id, (RecurringTask) task)) {
+                recurring.remove(id);
+            }
+            return;
+        }
+        LocalDateTime time = timeOf(task);
+        if (time == null) {
+            return;
+        }
+
+        catchUp(DateTime.toEpochMinute(LocalDateTime.now()));
+        if (id < nextId) {
+            // Toggled back or replaced in place: its old key must not count again
+            dropDueKeys(id);
+        }
+        long due = DateTime.toEpochMinute(time);
+        boolean isDeadline = task instanceof DeadlineTask;
+        addDueKey((due << 32) | id);
+        pendingDue.set(id);
+        deadlines.set(id, isDeadline);
+        count(due, isDeadline, asOf, 1);
+        if (due >= asOf + WEEK_MINUTES) {
+            arm(due - WEEK_MINUTES + 1);
+        } else if (due >= asOf) {
+            arm(due + 1);
+        }
+    }
+
+    private void untrack(int id, Task task) {
+        if (recurring.remove(id) != null) {
+            setRecurringSoon(id, false);
+        }
+        if (pendingDue.get(id)) {
+            count(DateTime.toEpochMinute(timeOf(task)), deadlines.get(id), asOf, -1);
+            pendingDue.clear(id);
+            deadlines.clear(id);
+            staleDueKeys++;
+        }
+    }
+
+    /** Timer action: brings every count up to the current minute and re-arms. */
+    private synchronized void onTick() {
+        armedFor = Long.MAX_VALUE;
+        catchUp(DateTime.toEpochMinute(LocalDateTime.now()));
+        armNextDueBoundary();
+        Iterator<Map.Entry<Integer, RecurringTask>> rules = recurring.entrySet().iterator();
+        while (rules.hasNext()) {
+            Map.Entry<Integer, RecurringTask> rule = rules.next();
+            if (!refreshRecurring(rule.getKey(), rule.getValue())) {
+                rules.remove();
+            }
+        }
+    }
+
+    /**
+     * Moves the deadline and event counts from {@code asOf} to {@code now}.
+     * Only keys due in {@code [asOf, now)}, which pass, or in the part of
+     * {@code [now, now + week)} not already in the old window, which enter
+     * it, can change count.
+     */
+    private void catchUp(long now) {
+        if (now <= asOf) {
+            return;
+        }
+        ensureDueSorted();
+        recount(asOf, now, now);
+        recount(Math.max(now, asOf + WEEK_MINUTES), now + WEEK_MINUTES, now);
+        asOf = now;
+    }
+
+    /** Moves the pending keys due in {@code [from, to)} from the counts at {@code asOf} to those at {@code now}. */
+    private void recount(long from, long to, long now) {
+        for (int i = lowerBound(from); i < dueKeyCount && dueKeys[i] >> 32 < to; i++) {
+            int id = (int) dueKeys[i];
+            if (pendingDue.get(id)) {
+                long due = dueKeys[i] >> 32;
+                boolean isDeadline = deadlines.get(id);
+                count(due, isDeadline, asOf, -1);
+                count(due, isDeadline, now, 1);
+            }
+        }
+    }
+
+    /** Adds {@code delta} to the count a pending deadline or event is in at minute {@code now}. */
+    private void count(long due, boolean isDeadline, long now, int delta) {
+        if (due < now) {
+            if (isDeadline) {
+                overdue += delta;
+            }
+        } else if (due < now + WEEK_MINUTES) {
+            dueSoon += delta;
+        }
+    }
+
+    /** Arms the timer for the next minute a pending key passes or enters the week window. */
+    private void armNextDueBoundary() {
+        ensureDueSorted();
+        int passing = firstPending(lowerBound(asOf));
+        if (passing < dueKeyCount) {
+            arm((dueKeys[passing] >> 32) + 1);
+        }
+        int entering = firstPending(lowerBound(asOf + WEEK_MINUTES));
+        if (entering < dueKeyCount) {
+            arm((dueKeys[entering] >> 32) - WEEK_MINUTES + 1);
+        }
+    }
+
+    /**
+     * Sets whether a pending recurring task is due soon at {@code asOf} and
+     * arms the timer for its next change.
+     *
+     * @return false if the task has no occurrence left to count
+     */
+    private boolean refreshRecurring(int id, RecurringTask rule) {
+        LocalDateTime start = rule.nextOccurrence(DateTime.fromEpochMinute(asOf));
+        if (start == null || DateTime.toEpochMinute(start) < asOf) {
+            setRecurringSoon(id, false);
+            return false;
+        }
+        long due = DateTime.toEpochMinute(start);
+        boolean isSoon = due < asOf + WEEK_MINUTES;
+        setRecurringSoon(id, isSoon);
+        arm(isSoon ? due + 1 : due - WEEK_MINUTES + 1);
+        return true;
+    }
+
+    private void setRecurringSoon(int id, boolean isSoon) {
+        if (isSoon ? recurringSoon.add(id) : recurringSoon.remove(id)) {
+            dueSoon += isSoon ? 1 : -1;
+        }
+    }
+
+    /** Brings the single timer action forward to the given minute if it is earlier. */
+    private void arm(long minute) {
+        if (minute < armedFor) {
+            armedFor = minute;
+            timer.schedule(this, minute, this::onTick);
+        }
+    }
+
+    private void addDueKey(long key) {
+        if (dueKeyCount == dueKeys.length) {
+            dueKeys = Arrays.copyOf(dueKeys, dueKeyCount * 2);
+        }
+        if (dueKeyCount > 0 && key < dueKeys[dueKeyCount - 1]) {
+            isDueSorted = false;
+        }
+        dueKeys[dueKeyCount++] = key;
+    }
+
+    /** Removes the keys of the given id, which were counted as stale. */
+    private void dropDueKeys(int id) {
+        int kept = 0;
+        for (int i = 0; i < dueKeyCount; i++) {
+            if ((int) dueKeys[i] != id) {
+                dueKeys[kept++] = dueKeys[i];
+            }
+        }
+        staleDueKeys -= dueKeyCount - kept;
+        dueKeyCount = kept;
+    }
+
+    /**
+     * Sorts keys added out of order and drops stale keys once they make up
+     * half the array. Both are deferred to the next tick so that loading and
+     * deleting stay cheap.
+     */
+    private void ensureDueSorted() {
+        if (staleDueKeys * 2 > dueKeyCount) {
+            int kept = 0;
+            for (int i = 0; i < dueKeyCount; i++) {
+                if (pendingDue.get((int) dueKeys[i])) {
+                    dueKeys[kept++] = dueKeys[i];
+                }
+            }
+            dueKeyCount = kept;
+            staleDueKeys = 0;
+        }
+        if (!isDueSorted) {
+            Arrays.sort(dueKeys, 0, dueKeyCount);
+            isDueSorted = true;
+        }
+    }
+
+    /** Returns the index of the first key at or after the given minute. */
+    private int lowerBound(long minute) {
+        int index = Arrays.binarySearch(dueKeys, 0, dueKeyCount, minute << 32);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /** Returns the index of the first key from {@code index} on whose task is pending. */
+    private int firstPending(int index) {
+        while (index < dueKeyCount && !pendingDue.get((int) dueKeys[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private static LocalDateTime timeOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return ((DeadlineTask) task).getDeadline();
+        }
+        return task instanceof EventTask ? ((EventTask) task).getStartTime() : null;
+    }
+}
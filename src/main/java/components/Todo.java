@@ -1,22 +1,262 @@
 package components;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import components.index.EventIndex;
+import components.index.QueryIndex;
+import components.index.SortOrder;
+import components.index.SortedView;
+import components.index.TagIndex;
+import components.index.WordTrie;
+import components.query.Query;
+import components.query.TagFilter;
+import components.store.TaskStore;
+import components.task.EventTask;
 import components.task.Task;
+import components.task.TaskType;
 import exceptions.TaskNotFoundException;
-import utilities.IO;
 
 /**
  * Represents an in-memory task list. Provides operations to add/load tasks,
- * delete with confirmation, search by description substrings, toggle completion
+ * delete, search by description substrings, toggle completion
  * status, list all tasks, list tasks due soon, and access the underlying list.
+ * <p>
+ * Tasks are held in a {@link TaskStore}; which implementation is used is
+ * chosen by {@link TaskStore#create()} unless one is passed in explicitly.
+ * Secondary indexes register as {@link TodoListener}s and are kept up to
+ * date on every add, toggle and delete.
+ * <p>
+ * Every change also bumps a version number. The results of {@code list},
+ * {@code find} and {@code query} are cached against it, up to
+ * {@value #RESULT_CACHE_PROPERTY} bytes, so repeating one before the list
+ * changes costs a lookup. Recurring tasks show their next occurrence, so
+ * cached results also lapse once the earliest one passes.
  */
 public class Todo {
-    private ArrayList<Task> tasks;
+    /** Name of the list used when none is chosen. */
+    public static final String DEFAULT_NAME = "todo_list";
+    /** List size from which filters are evaluated on multiple cores. */
+    static final int PARALLEL_THRESHOLD = 50_000;
+    /** System property overriding {@link #PARALLEL_THRESHOLD}, for benchmarks and tests. */
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "dumpy.parallelThreshold";
+    /** System property holding the size budget of each list's result cache. */
+    public static final String RESULT_CACHE_PROPERTY = "dumpy.resultCacheBytes";
+    private static final long DEFAULT_RESULT_CACHE_BYTES = 4L << 20;
+    /** Number of tasks shown per page of a sorted listing. */
+    public static final int PAGE_SIZE = 20;
+
+    private final String name;
+    private TaskStore tasks;
+    private final List<TodoListener> listeners = new ArrayList<>();
+    private final EventIndex eventIndex = new EventIndex();
+    private final TaskAggregates aggregates = new TaskAggregates();
+    /** With a single worker, splitting work only adds overhead. */
+    private final int parallelThreshold = Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY,
+                    ForkJoinPool.getCommonPoolParallelism() > 1 ? PARALLEL_THRESHOLD : Integer.MAX_VALUE);
+    private final ResultCache resultCache = new ResultCache(
+                    Long.getLong(RESULT_CACHE_PROPERTY, DEFAULT_RESULT_CACHE_BYTES));
+    /** Bumped by every change to the tasks, so cached results can tell they are stale. */
+    private long version;
+    /** What results are cached against, see {@link #cacheStamp()}. */
+    private long cacheStamp;
+    /** The {@link #version} that {@link #cacheStamp} was last taken at. */
+    private long stampedVersion = -1;
+    /** Earliest next occurrence shown when {@link #cacheStamp} was taken, or null if none. */
+    private LocalDateTime stampedOccurrence;
+    /** Created when first asked for. */
+    private ChangeFeed changeFeed;
+    /** Built on the first query or typo search, so other lists don't pay. */
+    private QueryIndex queryIndex;
+    /** Built when asked for, as only the GUI completes words. */
+    private volatile WordTrie wordTrie;
+    /** Built on the first tag filter. */
+    private TagIndex tagIndex;
+    /** Built on the first listing in each order. */
+    private final Map<SortOrder, SortedView> sortedViews = new EnumMap<>(SortOrder.class);
 
     public Todo() {
-        this.tasks = new ArrayList<>();
+        this(DEFAULT_NAME);
+    }
+
+    /**
+     * Creates an empty Todo list with the given name.
+     *
+     * @param name name of the list, which also names its data file
+     */
+    public Todo(String name) {
+        this(name, TaskStore.create());
+    }
+
+    /**
+     * Creates an empty default Todo list backed by the given store.
+     *
+     * @param store empty task store to hold the tasks
+     */
+    public Todo(TaskStore store) {
+        this(DEFAULT_NAME, store);
+    }
+
+    /**
+     * Creates an empty Todo list with the given name, backed by the given
+     * store.
+     *
+     * @param name name of the list, which also names its data file
+     * @param store empty task store to hold the tasks
+     */
+    public Todo(String name, TaskStore store) {
+        assert store.size() == 0 : "Todo must start from an empty store";
+        this.name = name;
+        this.tasks = store;
+        addListener(eventIndex);
+        addListener(aggregates);
+    }
+
+    /**
+     * Returns the name of this list.
+     *
+     * @return list name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of tasks in this list.
+     *
+     * @return task count
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns a rough count of the heap bytes this list holds: its store,
+     * the indexes, reminders and other listeners following it, and its cached
+     * results. Used to budget the open lists, see {@link TodoLists}.
+     *
+     * @return estimated bytes
+     */
+    public long estimatedBytes() {
+        long bytes = tasks.estimatedBytes() + resultCache.bytes();
+        for (TodoListener listener : listeners) {
+            bytes += listener.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the modification version of this list, which increases with
+     * every task added, toggled or removed.
+     *
+     * @return current version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Stops the background work of this list, for a list that is no longer
+     * open. The list itself stays usable.
+     */
+    public void close() {
+        aggregates.close();
+        if (changeFeed != null) {
+            changeFeed.close();
+        }
+    }
+
+    /**
+     * Returns the feed of changes to this list, for consumers that follow
+     * the list from another thread or process instead of re-reading it. Each
+     * subscriber receives batches of the changes made after it subscribed,
+     * in order, with its own buffer and backpressure; see
+     * {@link ChangeFeed}. To start from a consistent state, subscribe and
+     * read the list on the thread that changes it, then apply changes with a
+     * later {@link TodoChange#getVersion()}.
+     *
+     * @return publisher of change batches
+     */
+    public Flow.Publisher<List<TodoChange>> changes() {
+        if (changeFeed == null) {
+            changeFeed = new ChangeFeed(this::getVersion);
+            // Not addListener: existing tasks are not changes
+            listeners.add(changeFeed);
+        }
+        return changeFeed;
+    }
+
+    /**
+     * Starts keeping a trie of the words in task descriptions, for
+     * {@link Autocomplete}. Like every change to the list, this must run on
+     * the thread that changes it; the trie itself may then be read from any
+     * thread.
+     *
+     * @return the word trie
+     */
+    public WordTrie indexWords() {
+        if (wordTrie == null) {
+            WordTrie trie = new WordTrie();
+            addListener(trie);
+            wordTrie = trie;
+        }
+        return wordTrie;
+    }
+
+    /**
+     * Returns the trie of description words, if {@link #indexWords()} has
+     * been called.
+     *
+     * @return word trie, or null
+     */
+    public WordTrie getWordTrie() {
+        return wordTrie;
+    }
+
+    /**
+     * Summarizes the list from counts that are kept up to date on every
+     * change, so this takes constant time however long the list is.
+     *
+     * @return formatted summary
+     */
+    public String summary() {
+        return String.format("""
+                        Here's how your list %s is doing:
+                        Tasks: %d (%d pending, %d done)
+                        Todos: %d, deadlines: %d, events: %d, recurring: %d
+                        Overdue: %d
+                        Due within a week: %d
+                        """, name, aggregates.total(), aggregates.pending(),
+                        aggregates.done(), aggregates.countOf(TaskType.TODO),
+                        aggregates.countOf(TaskType.DEADLINE), aggregates.countOf(TaskType.EVENT),
+                        aggregates.countOf(TaskType.RECURRING), aggregates.overdue(),
+                        aggregates.dueSoon());
+    }
+
+    /**
+     * Registers a listener to be told about every subsequent change. Tasks
+     * already in the list are first reported to it as added, in order.
+     *
+     * @param listener listener to register
+     */
+    public void addListener(TodoListener listener) {
+        for (int i = 0; i < tasks.size(); i++) {
+            listener.onTaskAdded(tasks.getId(i), i, tasks.get(i));
+        }
+        listeners.add(listener);
     }
 
     /**
@@ -25,7 +265,7 @@ public class Todo {
      * @param task task to be added to the list
      */
     public String addTask(Task task) {
-        tasks.add(task);
+        loadTask(task);
         return "Task added! You now have " + tasks.size()
                         + " tasks in your list.";
     }
@@ -37,33 +277,137 @@ public class Todo {
      * @param task task to be added to the list
      */
     public void loadTask(Task task) {
-        tasks.add(task);
+        version++;
+        int id = tasks.add(task);
+        int position = tasks.size() - 1;
+        for (TodoListener listener : listeners) {
+            listener.onTaskAdded(id, position, task);
+        }
+    }
+
+    /**
+     * Returns the task at the given 1-based index.
+     *
+     * @param index 1-based index of the task
+     * @return the task (possibly a detached view, see {@link TaskStore})
+     * @throws TaskNotFoundException if the index is out of bounds
+     */
+    public Task getTask(int index) throws TaskNotFoundException {
+        if (index <= 0 || index > tasks.size()) {
+            throw new TaskNotFoundException(tasks.size(), index);
+        }
+        return tasks.get(index - 1);
     }
 
     /**
-     * Deletes the task at the given 1-based index after a confirmation prompt.
+     * Returns the stable id of the task at the given 1-based index, which
+     * still identifies the task after others are added or removed.
+     *
+     * @param index 1-based index of the task
+     * @return task id
+     * @throws TaskNotFoundException if the index is out of bounds
+     */
+    public int getTaskId(int index) throws TaskNotFoundException {
+        if (index <= 0 || index > tasks.size()) {
+            throw new TaskNotFoundException(tasks.size(), index);
+        }
+        return tasks.getId(index - 1);
+    }
+
+    /**
+     * Returns the task with the given stable id.
+     *
+     * @param id task id, see {@link #getTaskId(int)}
+     * @return the task (possibly a detached view), or null if it was removed
+     */
+    public Task findTask(int id) {
+        int position = tasks.indexOf(id);
+        return position < 0 ? null : tasks.get(position);
+    }
+
+    /**
+     * Deletes the task at the given 1-based index. Any confirmation is the
+     * caller's responsibility.
      *
      * @param index 1-based index of the task to delete
+     * @return message reporting the new list size
      * @throws TaskNotFoundException if the index is out of bounds
      */
     public String deleteTask(int index) throws TaskNotFoundException {
         if (index <= 0 || index > tasks.size()) {
             throw new TaskNotFoundException(tasks.size(), index);
         }
-        Task task = tasks.get(index - 1);
-
-        // Confirmation because Prof Ben taught me the 4 SWE Principles
-        String confirmation = IO.readLine(
-                        "Are you sure you want to remove this task? (y/N) \n"
-                                        + task.getDescription());
-        System.out.println(confirmation);
-        if (confirmation.trim().equals("y")) {
-            tasks.remove(index - 1);
-            return "Task deleted! You now have " + tasks.size()
-                            + " tasks in your list.";
-        } else {
-            return "Task not deleted.";
+        version++;
+        int id = tasks.getId(index - 1);
+        Task removed = tasks.remove(index - 1);
+        for (TodoListener listener : listeners) {
+            listener.onTaskRemoved(id, index - 1, removed);
         }
+        return "Task deleted! You now have " + tasks.size()
+                        + " tasks in your list.";
+    }
+
+    /**
+     * Replaces the task at the given 1-based index. The new task keeps the
+     * old one's id and position; listeners see the old task removed and the
+     * new one added under that id.
+     *
+     * @param index 1-based index of the task to replace
+     * @param task the new task
+     * @throws TaskNotFoundException if the index is out of bounds
+     */
+    public void replaceTask(int index, Task task) throws TaskNotFoundException {
+        if (index <= 0 || index > tasks.size()) {
+            throw new TaskNotFoundException(tasks.size(), index);
+        }
+        version++;
+        int id = tasks.getId(index - 1);
+        Task replaced = tasks.set(index - 1, task);
+        for (TodoListener listener : listeners) {
+            listener.onTaskRemoved(id, index - 1, replaced);
+        }
+        for (TodoListener listener : listeners) {
+            listener.onTaskAdded(id, index - 1, task);
+        }
+    }
+
+    /**
+     * Removes the done tasks accepted by the filter in a single pass over the
+     * store. The tasks are handed to {@code archiver} first, in list order;
+     * if it throws, nothing is removed.
+     *
+     * @param filter chooses among the done tasks
+     * @param archiver stores the tasks elsewhere before they are removed
+     * @return number of tasks removed
+     */
+    public int removeDoneTasks(Predicate<Task> filter, Consumer<List<Task>> archiver) {
+        List<Integer> positions = new ArrayList<>();
+        List<Task> removed = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.isDone(i)) {
+                Task task = tasks.get(i);
+                if (filter.test(task)) {
+                    positions.add(i);
+                    removed.add(task);
+                }
+            }
+        }
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        archiver.accept(removed);
+        version++;
+
+        int[] indexes = positions.stream().mapToInt(Integer::intValue).toArray();
+        int[] ids = Arrays.stream(indexes).map(tasks::getId).toArray();
+        tasks.removeAll(indexes);
+        // Back to front, so each position is as if tasks were deleted one by one
+        for (int k = indexes.length - 1; k >= 0; k--) {
+            for (TodoListener listener : listeners) {
+                listener.onTaskRemoved(ids[k], indexes[k], removed.get(k));
+            }
+        }
+        return removed.size();
     }
 
     /**
@@ -82,8 +426,8 @@ public class Todo {
                             "Please provide at least one substring to search for.");
         }
 
-        return buildFilteredTasksString(tasks, task -> {
-            String desc = task.getDescription().toLowerCase();
+        return buildFilteredTasksString(i -> {
+            String desc = tasks.getDescription(i).toLowerCase();
 
             for (String sub : substrings) {
                 if (!desc.contains(sub.toLowerCase())) {
@@ -112,33 +456,129 @@ public class Todo {
 
         String cleanSearchTerm = searchTerm.trim().toLowerCase();
 
-        return buildFilteredTasksString(tasks, task -> {
-            return fuzzyMatch(task.getDescription().toLowerCase(),
-                            cleanSearchTerm);
-        }, "Here are the matching tasks in your list:",
-                        "No matching tasks found.");
+        return resultCache.get("find " + cleanSearchTerm, cacheStamp(),
+                        () -> buildFilteredTasksString(
+                                        i -> tasks.fuzzyMatches(i, cleanSearchTerm),
+                                        "Here are the matching tasks in your list:",
+                                        "No matching tasks found."));
     }
 
     /**
-     * Performs simple fuzzy matching by checking if characters from the search
-     * term appear in order in the target string.
+     * Finds tasks with, for every word of the search term, a description
+     * word at most a few edits away from it: none for words of up to two
+     * letters, one for up to five and two for longer words, so "reprot"
+     * finds "report". Candidate words are looked up in a BK-tree over the
+     * description vocabulary, see {@link QueryIndex#withWordNear}, rather
+     * than by comparing against every task.
      *
-     * @param target the string to search in
-     * @param search the string to search for
-     * @return true if all characters in search appear in order in target
+     * @param searchTerm words to search for, possibly misspelt
+     * @return list of matching tasks
+     * @throws IllegalArgumentException if search term has no words
      */
-    private boolean fuzzyMatch(String target, String search) {
-        int targetIndex = 0;
-        int searchIndex = 0;
+    public String typoFindTasks(String searchTerm) throws IllegalArgumentException {
+        List<String> words = searchTerm == null ? List.of() : QueryIndex.words(searchTerm);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Please provide a search term.");
+        }
 
-        while (targetIndex < target.length() && searchIndex < search.length()) {
-            if (target.charAt(targetIndex) == search.charAt(searchIndex)) {
-                searchIndex++;
+        return resultCache.get("find~ " + String.join(" ", words), cacheStamp(), () -> {
+            BitSet ids = null;
+            for (String word : words) {
+                BitSet near = queryIndex().withWordNear(word, typosAllowed(word));
+                if (ids == null) {
+                    ids = near;
+                } else {
+                    ids.and(near);
+                }
             }
-            targetIndex++;
+            return buildTasksString(positionsOf(ids.stream().toArray()),
+                            "Here are the matching tasks in your list:",
+                            "No matching tasks found.");
+        });
+    }
+
+    private static int typosAllowed(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Finds archived tasks the same way as {@link #fuzzyFindTasks(String)}.
+     * Archived tasks are not in the list, so they are shown without numbers.
+     *
+     * @param searchTerm the term to fuzzy search for
+     * @param archived the archived tasks of this list
+     * @return formatted string of matching archived tasks, or a message if
+     *             none
+     * @throws IllegalArgumentException if search term is null or empty
+     */
+    public String fuzzyFindArchived(String searchTerm, Stream<Task> archived)
+                    throws IllegalArgumentException {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            throw new IllegalArgumentException("Please provide a search term.");
         }
 
-        return searchIndex == search.length();
+        String cleanSearchTerm = searchTerm.trim().toLowerCase();
+        StringBuilder sb = new StringBuilder("Here are the matching archived tasks:\n");
+        int header = sb.length();
+        archived.filter(task -> TaskStore.fuzzyMatches(task.getDescription(), cleanSearchTerm))
+                        .forEach(task -> sb.append("- ").append(task.toString()).append("\n"));
+        return sb.length() == header ? "No matching archived tasks found.\n" : sb.toString();
+    }
+
+    /**
+     * Lists the tasks matching a filter query, see {@link Query#parse(String)}.
+     * The query is planned against an index of the list, built on first use,
+     * so selective terms avoid scanning the whole list.
+     *
+     * @param queryText the query
+     * @return formatted string of matching tasks, or a message if none
+     * @throws IllegalArgumentException if the query is invalid
+     */
+    public String query(String queryText) throws IllegalArgumentException {
+        return resultCache.get("query " + queryText.trim(), cacheStamp(),
+                        () -> renderQuery(queryText));
+    }
+
+    private String renderQuery(String queryText) {
+        Query query = Query.parse(queryText);
+        int[] ids = query.execute(queryIndex(), this::findTask);
+        return buildTasksString(positionsOf(ids),
+                        "Here are the matching tasks in your list:",
+                        "No matching tasks found.");
+    }
+
+    /**
+     * Lists the tasks passing a tag filter, see {@link TagFilter#parse}. The
+     * filter is evaluated on bitmaps of task ids per tag, built on first use,
+     * so its cost depends on the tags involved rather than the list size.
+     *
+     * @param filterText the tag filter, e.g. {@code #work #urgent -#blocked}
+     * @return formatted string of matching tasks, or a message if none
+     * @throws IllegalArgumentException if the filter is invalid
+     */
+    public String listTagged(String filterText) throws IllegalArgumentException {
+        TagFilter filter = TagFilter.parse(filterText);
+        return resultCache.get("list " + filter, cacheStamp(), () -> {
+            if (tagIndex == null) {
+                tagIndex = new TagIndex();
+                addListener(tagIndex);
+            }
+            return buildTasksString(positionsOf(filter.execute(tagIndex)),
+                            "Here are the tasks tagged " + filter + ":",
+                            "No tasks match " + filter + ".");
+        });
+    }
+
+    /** Returns the query index, building it on first use. */
+    private QueryIndex queryIndex() {
+        if (queryIndex == null) {
+            queryIndex = new QueryIndex();
+            addListener(queryIndex);
+        }
+        return queryIndex;
     }
 
     /**
@@ -152,51 +592,179 @@ public class Todo {
         if (index <= 0 || index > tasks.size()) {
             throw new TaskNotFoundException(tasks.size(), index);
         }
-        Task task = tasks.get(index - 1);
-        task.toggleDone();
+        version++;
+        Task task = tasks.toggleDone(index - 1);
+        int id = tasks.getId(index - 1);
+        for (TodoListener listener : listeners) {
+            listener.onTaskToggled(id, index - 1, task);
+        }
         return task;
     }
 
+    /**
+     * Returns the stamp results are cached against. It moves on with every
+     * change to the list and, since a recurring task renders its next
+     * occurrence from the clock, whenever the clock passes the earliest next
+     * occurrence shown.
+     */
+    private long cacheStamp() {
+        LocalDateTime now = LocalDateTime.now();
+        if (stampedVersion != version || (stampedOccurrence != null && now.isAfter(stampedOccurrence))) {
+            cacheStamp++;
+            stampedVersion = version;
+            stampedOccurrence = aggregates.countOf(TaskType.RECURRING) == 0 ? null
+                            : aggregates.nextRecurringOccurrence(now);
+        }
+        return cacheStamp;
+    }
+
     /**
      * Lists all tasks currently stored.
      *
      * @return formatted string of all tasks, or a message if none exist
      */
     public String listTasks() {
-        return buildFilteredTasksString(tasks, t -> true,
-                        "Here are the tasks in your list:", "Nothing to do!");
+        return resultCache.get("list", cacheStamp(), () -> buildFilteredTasksString(i -> true,
+                        "Here are the tasks in your list:", "Nothing to do!"));
+    }
+
+    /**
+     * Lists one page of tasks in the given order. Tasks keep their list
+     * numbers, so the numbers shown still work with mark and delete. The view
+     * for each order is built on first use and then kept sorted as tasks
+     * change, so a page costs O(log n + page size).
+     *
+     * @param order order to list tasks in
+     * @param page 1-based page number
+     * @return formatted page of tasks, or a message if there are none
+     */
+    public String listSorted(SortOrder order, int page) {
+        SortedView view = sortedViews.get(order);
+        if (view == null) {
+            view = new SortedView(order);
+            sortedViews.put(order, view);
+            addListener(view);
+        }
+        if (view.size() == 0) {
+            return "Nothing to do!\n";
+        }
+
+        int pages = (view.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        if (page < 1 || page > pages) {
+            return String.format("Page %d doesn't exist, your list has %d page%s.\n",
+                            page, pages, pages == 1 ? "" : "s");
+        }
+        StringBuilder sb = new StringBuilder(String.format(
+                        "Here are your tasks sorted by %s (page %d of %d):\n",
+                        order.name().toLowerCase(), page, pages));
+        for (int id : view.page((page - 1) * PAGE_SIZE, PAGE_SIZE)) {
+            int position = tasks.indexOf(id);
+            sb.append(String.format("%d. %s\n", position + 1, tasks.get(position).toString()));
+        }
+        return sb.toString();
     }
 
     /**
      * Lists tasks that are considered due soon (delegates logic to
-     * Task::isDueSoon).
+     * {@link TaskStore#isDueSoon(int, LocalDateTime)}).
      *
      * @return formatted string of due-soon tasks, or a congratulatory message
      *             if none
      */
     public String listDueSoonTasks() {
-        return buildFilteredTasksString(tasks, Task::isDueSoon,
+        LocalDateTime now = LocalDateTime.now();
+        return buildFilteredTasksString(i -> tasks.isDueSoon(i, now),
                         "Here are the tasks that are due soon:",
                         "You have no tasks that are due soon. Good job!");
     }
 
+    /**
+     * Lists the events and recurring task occurrences overlapping the window
+     * {@code [from, to)} in order of start time, using the event index rather
+     * than scanning the list.
+     *
+     * @param from inclusive start of the window
+     * @param to exclusive end of the window
+     * @return formatted string of matching events, or a message if none
+     */
+    public String listAgenda(LocalDateTime from, LocalDateTime to) {
+        return buildTasksString(eventsOverlapping(from, to),
+                        "Here is your agenda:", "Nothing on your agenda. Free time!");
+    }
+
+    /**
+     * Describes the events already in the list whose time overlaps the given
+     * event.
+     *
+     * @param event event to check, typically one about to be added
+     * @return formatted string of conflicting events, or null if none
+     */
+    public String describeConflicts(EventTask event) {
+        LocalDateTime start = event.getStartTime();
+        LocalDateTime end = event.getEndTime().isAfter(start) ? event.getEndTime()
+                        : start.plusMinutes(1);
+        List<EventTask> clashes = eventsOverlapping(start, end);
+        if (clashes.isEmpty()) {
+            return null;
+        }
+        return buildTasksString(clashes, "Heads up! This clashes with:", "");
+    }
+
+    /**
+     * Collects the events and recurring task occurrences overlapping
+     * {@code [from, to)}, ordered by start time and then list position.
+     *
+     * @param from inclusive start of the window
+     * @param to exclusive end of the window
+     * @return overlapping events
+     */
+    private List<EventTask> eventsOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<EventTask> events = new ArrayList<>();
+        for (int position : positionsOf(eventIndex.overlapping(from, to))) {
+            events.add((EventTask) tasks.get(position));
+        }
+        events.addAll(eventIndex.occurrences(from, to));
+        events.sort(Comparator.comparing(EventTask::getStartTime));
+        return events;
+    }
+
+    /**
+     * Converts task ids into current 0-based positions in list order,
+     * dropping ids that are no longer stored.
+     *
+     * @param ids task ids in any order
+     * @return ascending positions
+     */
+    private int[] positionsOf(int[] ids) {
+        return Arrays.stream(ids).map(tasks::indexOf).filter(i -> i >= 0)
+                        .sorted().toArray();
+    }
+
     /**
      * Builds a formatted string listing tasks that satisfy the given predicate.
+     * Lists of at least {@link #PARALLEL_THRESHOLD} tasks, or
+     * {@value #PARALLEL_THRESHOLD_PROPERTY} if set, are filtered and
+     * rendered on the common fork-join pool, unless it has a single worker;
+     * ordered streams keep the numbering and order identical to the serial
+     * path.
      *
-     * @param taskList list of tasks to inspect
-     * @param pred predicate determining inclusion
+     * @param pred predicate over 0-based store positions determining inclusion
      * @param header header line to print when there is at least one match
      * @param emptyMessage message returned if no tasks match
      * @return formatted string of matching tasks (1-based numbering) or the
      *             empty message
      */
-    private String buildFilteredTasksString(ArrayList<Task> taskList,
-                    Predicate<Task> pred, String header, String emptyMessage) {
+    private String buildFilteredTasksString(IntPredicate pred, String header,
+                    String emptyMessage) {
+        if (tasks.size() >= parallelThreshold) {
+            return buildFilteredTasksStringParallel(pred, header, emptyMessage);
+        }
+
         StringBuilder sb = new StringBuilder(header + "\n");
         int i = 1;
-        for (Task task : taskList) {
-            if (pred.test(task)) {
-                sb.append(String.format("%d. %s\n", i, task.toString()));
+        for (int index = 0; index < tasks.size(); index++) {
+            if (pred.test(index)) {
+                sb.append(String.format("%d. %s\n", i, tasks.get(index).toString()));
                 ++i;
             }
         }
@@ -209,11 +777,75 @@ public class Todo {
     }
 
     /**
-     * Returns the underlying mutable task list.
+     * Parallel counterpart of
+     * {@link #buildFilteredTasksString(IntPredicate, String, String)}. The
+     * predicate must be safe to evaluate concurrently.
+     */
+    private String buildFilteredTasksStringParallel(IntPredicate pred,
+                    String header, String emptyMessage) {
+        int[] matches = IntStream.range(0, tasks.size()).parallel().filter(pred)
+                        .toArray();
+        return buildTasksString(matches, header, emptyMessage);
+    }
+
+    /**
+     * Builds a formatted string listing the tasks at the given positions, in
+     * the same format as
+     * {@link #buildFilteredTasksString(IntPredicate, String, String)}. Large
+     * results are rendered in parallel.
+     *
+     * @param positions 0-based positions to list, in display order
+     * @param header header line to print when there is at least one task
+     * @param emptyMessage message returned if there are no positions
+     * @return formatted string (1-based numbering) or the empty message
+     */
+    private String buildTasksString(int[] positions, String header,
+                    String emptyMessage) {
+        if (positions.length == 0) {
+            return emptyMessage + "\n";
+        }
+
+        IntStream range = IntStream.range(0, positions.length);
+        if (positions.length >= parallelThreshold) {
+            range = range.parallel();
+        }
+        String[] lines = range.mapToObj(k -> String.format("%d. %s\n", k + 1,
+                        tasks.get(positions[k]).toString())).toArray(String[]::new);
+        StringBuilder sb = new StringBuilder(header + "\n");
+        for (String line : lines) {
+            sb.append(line);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds a formatted string listing the given tasks, in the same format
+     * as {@link #buildFilteredTasksString(IntPredicate, String, String)}.
+     *
+     * @param list tasks to list, in display order
+     * @param header header line to print when there is at least one task
+     * @param emptyMessage message returned if the list is empty
+     * @return formatted string (1-based numbering) or the empty message
+     */
+    private String buildTasksString(List<? extends Task> list, String header,
+                    String emptyMessage) {
+        if (list.isEmpty()) {
+            return emptyMessage + "\n";
+        }
+
+        StringBuilder sb = new StringBuilder(header + "\n");
+        for (int k = 0; k < list.size(); k++) {
+            sb.append(String.format("%d. %s\n", k + 1, list.get(k).toString()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a read-only view of the tasks in insertion order.
      *
-     * @return internal ArrayList of tasks
+     * @return list view over the backing store
      */
-    public ArrayList<Task> getTasks() {
-        return this.tasks;
+    public List<Task> getTasks() {
+        return this.tasks.asList();
     }
 }
@@ -0,0 +1,88 @@
+package components;
+
+import components.task.Task;
+import utilities.Data;
+
+/**
+ * One change to a {@link Todo}, as published by its change feed, see
+ * {@link Todo#changes()}. The task is captured in its encoded storage form
+ * when the change happens, so later changes to the same task cannot leak
+ * into it while it waits to be delivered.
+ */
+public class TodoChange {
+    /** What happened to the task. */
+    public enum Kind {
+        ADDED, TOGGLED, REMOVED
+    }
+
+    private final Kind kind;
+    private final int id;
+    private final int position;
+    private final long version;
+    private final String encodedTask;
+
+    /**
+     * Creates a change record.
+     *
+     * @param kind what happened to the task
+     * @param id stable id of the task
+     * @param position 0-based position of the task, before removal for
+     *            {@link Kind#REMOVED}
+     * @param version version of the list after the change
+     * @param task the task after the change
+     */
+    public TodoChange(Kind kind, int id, int position, long version, Task task) {
+        this.kind = kind;
+        this.id = id;
+        this.position = position;
+        this.version = version;
+        this.encodedTask = task.encodeData();
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the version of the list after this change, see
+     * {@link Todo#getVersion()}. Changes made by one bulk operation share a
+     * version.
+     *
+     * @return list version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the task in its storage form, one line as written by
+     * {@link Data#saveListToFile(Todo)}.
+     *
+     * @return encoded task
+     */
+    public String getEncodedTask() {
+        return encodedTask;
+    }
+
+    /**
+     * Decodes the task as it was right after the change.
+     *
+     * @return a new task instance
+     */
+    public Task getTask() {
+        return Data.decodeData(encodedTask);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s #%d at %d (v%d): %s", kind, id, position, version, encodedTask);
+    }
+}
@@ -0,0 +1,49 @@
+package components;
+
+import components.task.Task;
+
+/**
+ * Interface for structures that follow every change made to a {@link Todo},
+ * such as secondary indexes. Callbacks run synchronously on the thread that
+ * mutated the list, after the change has been applied. A task replaced in
+ * place, see {@link Todo#replaceTask}, is reported as removed and then added
+ * under the same id.
+ */
+public interface TodoListener {
+    /**
+     * Called when a task is added or loaded.
+     *
+     * @param id stable id of the task
+     * @param position 0-based position of the task in the list
+     * @param task the added task
+     */
+    void onTaskAdded(int id, int position, Task task);
+
+    /**
+     * Called when the completion status of a task is toggled.
+     *
+     * @param id stable id of the task
+     * @param position 0-based position of the task in the list
+     * @param task the task after toggling
+     */
+    void onTaskToggled(int id, int position, Task task);
+
+    /**
+     * Called when a task is deleted.
+     *
+     * @param id stable id of the removed task
+     * @param position 0-based position the task had before removal
+     * @param task the removed task
+     */
+    void onTaskRemoved(int id, int position, Task task);
+
+    /**
+     * Returns a rough count of the heap bytes this listener holds, for memory
+     * budgets. Listeners holding little per task need not override it.
+     *
+     * @return estimated bytes
+     */
+    default long estimatedBytes() {
+        return 0;
+    }
+}
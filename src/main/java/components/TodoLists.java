@@ -0,0 +1,199 @@
+package components;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import exceptions.ListNotFoundException;
+import utilities.Data;
+
+/**
+ * The named task lists open in this session. One list is current and
+ * receives commands; others are loaded from disk on demand and kept in a
+ * least-recently-used cache. Once the cached lists take up more than
+ * {@value #CACHE_PROPERTY} bytes in total, as estimated by
+ * {@link Todo#estimatedBytes()}, the least recently used ones other than the
+ * current list are saved and dropped, so memory follows the lists in active
+ * use rather than every list on disk. Budgeting bytes rather than tasks
+ * accounts for a list's store layout, indexes and pending reminders.
+ * <p>
+ * Every open list has its own {@link Reminders}, cancelled when the list is
+ * evicted. If {@value #ARCHIVE_AFTER_PROPERTY} is set, lists are also
+ * cleared of done tasks whose deadline, event or recurrence ended more than
+ * that many days ago as they are opened, see
+ * {@link Data#archiveDoneTasks}.
+ */
+public class TodoLists {
+    /** System property holding the byte budget of the cache. */
+    public static final String CACHE_PROPERTY = "dumpy.cachedBytes";
+    private static final long DEFAULT_CACHED_BYTES = 256L << 20;
+    /** System property holding the age in days after which done tasks are archived. */
+    public static final String ARCHIVE_AFTER_PROPERTY = "dumpy.archiveAfterDays";
+
+    /** Open lists by name, least recently used first. */
+    private final LinkedHashMap<String, Todo> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Reminders> reminders = new HashMap<>();
+    private final Executor uiExecutor;
+    private final long maxCachedBytes;
+    /** Volatile as {@link Autocomplete} reads it off the UI thread. */
+    private volatile Todo current;
+    private boolean isIndexingWords;
+
+    /**
+     * Creates the set of open lists with an already loaded current list.
+     *
+     * @param initial the loaded current list
+     * @param uiExecutor executor reminders are published on
+     */
+    public TodoLists(Todo initial, Executor uiExecutor) {
+        this.uiExecutor = uiExecutor;
+        this.maxCachedBytes = Long.getLong(CACHE_PROPERTY, DEFAULT_CACHED_BYTES);
+        open(initial);
+        this.current = initial;
+    }
+
+    /**
+     * Returns the list commands currently apply to.
+     *
+     * @return current list
+     */
+    public Todo current() {
+        return current;
+    }
+
+    /**
+     * Keeps a word trie for every open list and every list opened from now
+     * on, see {@link Todo#indexWords()}.
+     */
+    public void indexWords() {
+        isIndexingWords = true;
+        for (Todo todo : cache.values()) {
+            todo.indexWords();
+        }
+    }
+
+    /**
+     * Makes the named list current, loading it from disk if it is not open.
+     *
+     * @param name list name
+     * @return the new current list
+     * @throws ListNotFoundException if the list has no data file
+     */
+    public Todo use(String name) throws ListNotFoundException {
+        Todo todo = cache.get(name);
+        if (todo == null) {
+            if (!Data.listExists(name)) {
+                throw new ListNotFoundException(name);
+            }
+            todo = Data.readListFromFile(name);
+            open(todo);
+        }
+        current = todo;
+        evictOverBudget();
+        return todo;
+    }
+
+    /**
+     * Creates an empty list with the given name and makes it current.
+     *
+     * @param name list name, see {@link Data#isValidListName(String)}
+     * @return the new current list
+     * @throws IllegalArgumentException if the name is invalid or taken
+     */
+    public Todo create(String name) throws IllegalArgumentException {
+        if (!Data.isValidListName(name)) {
+            throw new IllegalArgumentException(
+                            "List names can only have letters, digits, _ and -.");
+        }
+        if (Data.listExists(name)) {
+            throw new IllegalArgumentException("There's already a list called " + name + "!");
+        }
+        Data.createList(name);
+        Todo todo = new Todo(name);
+        open(todo);
+        current = todo;
+        evictOverBudget();
+        return todo;
+    }
+
+    /**
+     * Returns the named list if it is open, without loading it or changing
+     * its recency.
+     *
+     * @param name list name
+     * @return the open list, or null
+     */
+    public Todo getIfOpen(String name) {
+        // Iterating leaves the access order alone, unlike get
+        for (Todo todo : cache.values()) {
+            if (todo.getName().equals(name)) {
+                return todo;
+            }
+        }
+        return null;
+    }
+
+    private void open(Todo todo) {
+        Integer archiveAfterDays = Integer.getInteger(ARCHIVE_AFTER_PROPERTY);
+        if (archiveAfterDays != null) {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+            Data.archiveDoneTasks(todo, task -> isOverBefore(task, cutoff));
+        }
+        if (isIndexingWords) {
+            todo.indexWords();
+        }
+        Reminders listReminders = new Reminders(uiExecutor, todo::findTask);
+        todo.addListener(listReminders);
+        reminders.put(todo.getName(), listReminders);
+        cache.put(todo.getName(), todo);
+    }
+
+    /**
+     * Returns whether a task was over before the cutoff: its deadline, the end
+     * of its event or the end of its recurrence. Todos and open-ended
+     * recurring tasks have no such time and are never over.
+     */
+    private static boolean isOverBefore(Task task, LocalDateTime cutoff) {
+        LocalDateTime over = null;
+        if (task instanceof DeadlineTask) {
+            over = ((DeadlineTask) task).getDeadline();
+        } else if (task instanceof EventTask) {
+            over = ((EventTask) task).getEndTime();
+        } else if (task instanceof RecurringTask) {
+            over = ((RecurringTask) task).getUntil();
+        }
+        return over != null && over.isBefore(cutoff);
+    }
+
+    /**
+     * Saves and drops least recently used lists until the open lists fit the
+     * byte budget. The current list is never dropped.
+     */
+    private void evictOverBudget() {
+        long cachedBytes = 0;
+        for (Todo todo : cache.values()) {
+            cachedBytes += todo.estimatedBytes();
+        }
+
+        Iterator<Todo> lists = cache.values().iterator();
+        while (cachedBytes > maxCachedBytes && lists.hasNext()) {
+            Todo eldest = lists.next();
+            if (eldest == current) {
+                continue;
+            }
+            long eldestBytes = eldest.estimatedBytes();
+            Data.saveListToFile(eldest);
+            reminders.remove(eldest.getName()).close();
+            eldest.close();
+            lists.remove();
+            cachedBytes -= eldestBytes;
+        }
+    }
+}
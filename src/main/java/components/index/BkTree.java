@@ -0,0 +1,141 @@
+package components.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Burkhard-Keller tree of words under Levenshtein distance, for finding every
+ * word within a small distance of a misspelt one. Each child hangs off its
+ * parent by their distance, so by the triangle inequality a search only has
+ * to descend into children whose edge is within the search radius of the
+ * distance to the parent. With a radius of 1 or 2 that visits a small
+ * fraction of the words.
+ * <p>
+ * Words cannot be removed; callers skip words they no longer use and rebuild
+ * the tree once too many have gone.
+ */
+class BkTree {
+    private Node root;
+    private int size;
+
+    private static class Node {
+        private final String word;
+        /** Distances to the children, in the order the children were added. */
+        private int[] edges = new int[0];
+        private Node[] children = new Node[0];
+
+        Node(String word) {
+            this.word = word;
+        }
+
+        Node child(int edge) {
+            for (int i = 0; i < edges.length; i++) {
+                if (edges[i] == edge) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(int edge, Node child) {
+            edges = Arrays.copyOf(edges, edges.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            edges[edges.length - 1] = edge;
+            children[children.length - 1] = child;
+        }
+    }
+
+    /**
+     * Adds a word, unless it is already in the tree.
+     *
+     * @param word word to add
+     */
+    void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Returns the number of distinct words added.
+     *
+     * @return word count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes every word within the given distance of the target to the
+     * consumer, in no particular order.
+     *
+     * @param target word to search around
+     * @param maxDistance largest edit distance to accept
+     * @param consumer receives the words found
+     */
+    void search(String target, int maxDistance, Consumer<String> consumer) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(target, node.word);
+            if (distance <= maxDistance) {
+                consumer.accept(node.word);
+            }
+            for (int i = 0; i < node.edges.length; i++) {
+                if (Math.abs(node.edges[i] - distance) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words: the fewest single
+     * character insertions, deletions and substitutions turning one into the
+     * other.
+     *
+     * @param a first word
+     * @param b second word
+     * @return edit distance
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
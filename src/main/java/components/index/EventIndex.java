@@ -0,0 +1,90 @@
+package components.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import components.TodoListener;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import utilities.DateTime;
+
+/**
+ * Keeps an {@link IntervalTree} of every {@link EventTask} in a todo list up
+ * to date, for agenda and conflict queries. {@link RecurringTask} rules are
+ * kept aside and expanded only over the window being queried.
+ */
+public class EventIndex implements TodoListener {
+    /** Rough cost of an interval tree node. */
+    private static final long INTERVAL_BYTES = 56;
+    /** Rough cost of a rule entry: map node and boxed id; the rule is shared with the list. */
+    private static final long RULE_BYTES = 48;
+
+    private final IntervalTree tree = new IntervalTree();
+    private final Map<Integer, RecurringTask> rules = new HashMap<>();
+
+    @Override
+    public void onTaskAdded(int id, int position, Task task) {
+        if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            tree.insert(DateTime.toEpochMinute(event.getStartTime()),
+                            DateTime.toEpochMinute(event.getEndTime()), id);
+        } else if (task instanceof RecurringTask) {
+            rules.put(id, (RecurringTask) task);
+        }
+    }
+
+    @Override
+    public void onTaskToggled(int id, int position, Task task) {
+        // Done events stay on the agenda, but occurrences show the new status
+        if (task instanceof RecurringTask) {
+            rules.put(id, (RecurringTask) task);
+        }
+    }
+
+    @Override
+    public void onTaskRemoved(int id, int position, Task task) {
+        if (task instanceof EventTask) {
+            tree.remove(DateTime.toEpochMinute(((EventTask) task).getStartTime()), id);
+        } else if (task instanceof RecurringTask) {
+            rules.remove(id);
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return tree.size() * INTERVAL_BYTES + rules.size() * RULE_BYTES;
+    }
+
+    /**
+     * Returns the ids of events overlapping {@code [from, to)}.
+     *
+     * @param from inclusive start of the window
+     * @param to exclusive end of the window
+     * @return matching task ids, in no particular order
+     */
+    public int[] overlapping(LocalDateTime from, LocalDateTime to) {
+        return tree.overlapping(DateTime.toEpochMinute(from), DateTime.toEpochMinute(to));
+    }
+
+    /**
+     * Returns the occurrences of recurring tasks overlapping
+     * {@code [from, to)}, each as a standalone event.
+     *
+     * @param from inclusive start of the window
+     * @param to exclusive end of the window
+     * @return occurrences, in no particular order
+     */
+    public List<EventTask> occurrences(LocalDateTime from, LocalDateTime to) {
+        List<EventTask> occurrences = new ArrayList<>();
+        for (RecurringTask rule : rules.values()) {
+            for (LocalDateTime start : rule.occurrences(from, to)) {
+                occurrences.add(rule.occurrenceAt(start));
+            }
+        }
+        return occurrences;
+    }
+}
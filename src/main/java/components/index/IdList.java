@@ -0,0 +1,53 @@
+package components.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Growable, ascending list of task ids. Since ids are handed out in
+ * ascending order, adds are appends in the common case.
+ */
+class IdList {
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int index = size == 0 || ids[size - 1] < id ? size
+                        : -Arrays.binarySearch(ids, 0, size, id) - 1;
+        if (index < 0) {
+            return; // already present
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+
+    void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long estimatedBytes() {
+        return 16 + ids.length * 4L;
+    }
+
+    void addTo(BitSet set) {
+        for (int i = 0; i < size; i++) {
+            set.set(ids[i]);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package components.index;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Augmented interval tree over half-open {@code [start, end)} intervals of
+ * epoch minutes, each tagged with a task id. Implemented as a treap ordered
+ * by {@code (start, id)} where every node also records the largest end in
+ * its subtree, so overlap queries skip subtrees that end too early.
+ * Insert and remove run in expected O(log n); an overlap query reporting k
+ * intervals runs in expected O(log n + k).
+ * <p>
+ * Intervals whose end is not after their start are stored as lasting one
+ * minute so that they still occupy the moment they start at.
+ */
+public class IntervalTree {
+    private final Random random = new Random();
+    private Node root;
+    private int size;
+
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(long start, long end, int id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Returns the number of stored intervals.
+     *
+     * @return interval count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an interval.
+     *
+     * @param start inclusive start minute
+     * @param end exclusive end minute
+     * @param id task id the interval belongs to
+     */
+    public void insert(long start, long end, int id) {
+        root = insert(root, new Node(start, Math.max(end, start + 1), id,
+                        random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes the interval previously inserted with the given start and id.
+     *
+     * @param start start minute the interval was inserted with
+     * @param id task id the interval belongs to
+     * @return true if an interval was removed
+     */
+    public boolean remove(long start, int id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Returns the ids of every interval overlapping {@code [from, to)}, in no
+     * particular order.
+     *
+     * @param from inclusive start minute of the query window
+     * @param to exclusive end minute of the query window
+     * @return matching task ids
+     */
+    public int[] overlapping(long from, long to) {
+        IdCollector out = new IdCollector();
+        collect(root, from, to, out);
+        return out.toArray();
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every key in {@code left} precedes every key in
+     * {@code right}.
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private void collect(Node node, long from, long to, IdCollector out) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, out);
+        if (node.start < to) {
+            if (node.end > from) {
+                out.add(node.id);
+            }
+            collect(node.right, from, to, out);
+        }
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Integer.compare(id, node.id);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        long max = node.end;
+        if (node.left != null) {
+            max = Math.max(max, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            max = Math.max(max, node.right.maxEnd);
+        }
+        node.maxEnd = max;
+    }
+
+    /** Growable int array used to gather query results. */
+    private static class IdCollector {
+        private int[] ids = new int[8];
+        private int count;
+
+        void add(int id) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, count);
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package components.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import components.TodoListener;
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import components.task.TaskType;
+import utilities.DateTime;
+
+/**
+ * Secondary indexes used to plan queries, all keyed by stable task id:
+ * <ul>
+ * <li>a bit set of ids per {@link TaskType} and of done ids</li>
+ * <li>a sorted array of {@code (epoch minute, id)} keys for deadlines and
+ * event starts, plus the ids of recurring tasks, which have no single
+ * time</li>
+ * <li>a sorted map from each lower-case description word to the ids of the
+ * tasks containing it</li>
+ * <li>a {@link BkTree} of those words, built on the first typo-tolerant
+ * lookup</li>
+ * </ul>
+ * Every lookup returns candidate ids together with an upper bound on their
+ * number, so a planner can start from the most selective one. Candidates may
+ * include tasks that do not match exactly and must still be filtered.
+ */
+public class QueryIndex implements TodoListener {
+    /** Rough cost of a word entry: tree map node, key String and id list object. */
+    private static final long WORD_BYTES = 120;
+
+    private final BitSet live = new BitSet();
+    private final BitSet done = new BitSet();
+    private final Map<TaskType, BitSet> byType = new EnumMap<>(TaskType.class);
+    private final BitSet recurring = new BitSet();
+    private final TreeMap<String, IdList> byWord = new TreeMap<>();
+    /** Also holds words no task uses any more, until rebuilt. */
+    private BkTree wordTree;
+
+    /** {@code minute << 32 | id}; removed ids stay until the next compaction. */
+    private long[] timeKeys = new long[16];
+    private int timeKeyCount;
+    private int staleTimeKeys;
+    private boolean isTimeSorted = true;
+    /** One past the largest id added; new tasks always get a larger id. */
+    private int nextId;
+
+    /**
+     * Splits a description into the lower-case words the index is keyed by.
+     *
+     * @param description task description
+     * @return words, in order, possibly repeated
+     */
+    public static List<String> words(String description) {
+        List<String> words = new ArrayList<>();
+        String lower = description.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean isWordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    @Override
+    public void onTaskAdded(int id, int position, Task task) {
+        if (id < nextId) {
+            // A task replaced in place: its old time key would outlive compaction
+            dropTimeKeys(id);
+        }
+        nextId = Math.max(nextId, id + 1);
+        live.set(id);
+        done.set(id, task.isDone());
+        byType.computeIfAbsent(task.getType(), t -> new BitSet()).set(id);
+        for (String word : words(task.getDescription())) {
+            byWord.computeIfAbsent(word, w -> {
+                if (wordTree != null) {
+                    wordTree.add(w);
+                }
+                return new IdList();
+            }).add(id);
+        }
+
+        LocalDateTime time = timeOf(task);
+        if (time != null) {
+            addTimeKey((DateTime.toEpochMinute(time) << 32) | id);
+        } else if (task instanceof RecurringTask) {
+            recurring.set(id);
+        }
+    }
+
+    @Override
+    public void onTaskToggled(int id, int position, Task task) {
+        done.set(id, task.isDone());
+    }
+
+    @Override
+    public void onTaskRemoved(int id, int position, Task task) {
+        live.clear(id);
+        done.clear(id);
+        byType.get(task.getType()).clear(id);
+        recurring.clear(id);
+        for (String word : words(task.getDescription())) {
+            IdList ids = byWord.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    byWord.remove(word);
+                }
+            }
+        }
+        if (timeOf(task) != null) {
+            staleTimeKeys++;
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long bytes = timeKeys.length * 8L + (live.size() + done.size() + recurring.size()) / 8;
+        for (BitSet ids : byType.values()) {
+            bytes += ids.size() / 8;
+        }
+        for (IdList ids : byWord.values()) {
+            bytes += WORD_BYTES + ids.estimatedBytes();
+        }
+        return wordTree == null ? bytes : bytes + wordTree.size() * WORD_BYTES;
+    }
+
+    /**
+     * Returns the time a deadline or event is indexed under.
+     *
+     * @param task any task
+     * @return deadline or event start, or null for other tasks
+     */
+    public static LocalDateTime timeOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return ((DeadlineTask) task).getDeadline();
+        } else if (task instanceof EventTask) {
+            return ((EventTask) task).getStartTime();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of tasks of a type.
+     *
+     * @param type task type
+     * @return exact count
+     */
+    public int countOfType(TaskType type) {
+        BitSet ids = byType.get(type);
+        return ids == null ? 0 : ids.cardinality();
+    }
+
+    /**
+     * Returns the ids of tasks of a type.
+     *
+     * @param type task type
+     * @return exact matches
+     */
+    public BitSet ofType(TaskType type) {
+        BitSet ids = byType.get(type);
+        return ids == null ? new BitSet() : (BitSet) ids.clone();
+    }
+
+    /**
+     * Returns the number of tasks with a completion status.
+     *
+     * @param isDone status to count
+     * @return exact count
+     */
+    public int countWithStatus(boolean isDone) {
+        int doneCount = done.cardinality();
+        return isDone ? doneCount : live.cardinality() - doneCount;
+    }
+
+    /**
+     * Returns the ids of tasks with a completion status.
+     *
+     * @param isDone status to match
+     * @return exact matches
+     */
+    public BitSet withStatus(boolean isDone) {
+        BitSet ids = (BitSet) done.clone();
+        if (!isDone) {
+            ids.xor(live);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns an upper bound on the number of tasks with a time in
+     * {@code [from, to)}, counting every recurring task.
+     *
+     * @param from inclusive lower bound in epoch minutes
+     * @param to exclusive upper bound in epoch minutes
+     * @return candidate count
+     */
+    public int countInTimeRange(long from, long to) {
+        ensureTimeSorted();
+        return lowerBound(to) - lowerBound(from) + recurring.cardinality();
+    }
+
+    /**
+     * Returns the ids of deadlines and events with a time in
+     * {@code [from, to)}, and of every recurring task, whose occurrences have
+     * to be checked by the caller.
+     *
+     * @param from inclusive lower bound in epoch minutes
+     * @param to exclusive upper bound in epoch minutes
+     * @return candidates
+     */
+    public BitSet inTimeRange(long from, long to) {
+        ensureTimeSorted();
+        BitSet ids = (BitSet) recurring.clone();
+        for (int i = lowerBound(from), end = lowerBound(to); i < end; i++) {
+            ids.set((int) timeKeys[i]);
+        }
+        ids.and(live);
+        return ids;
+    }
+
+    /**
+     * Returns the number of tasks with a word starting with the prefix,
+     * stopping early once {@code limit} is exceeded.
+     *
+     * @param prefix lower-case word prefix
+     * @param limit count beyond which the exact number does not matter
+     * @return the count, or a number above limit
+     */
+    public int countWithWordPrefix(String prefix, int limit) {
+        long count = 0;
+        for (IdList ids : wordsWithPrefix(prefix).values()) {
+            count += ids.size();
+            if (count > limit) {
+                break;
+            }
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the ids of tasks with a word starting with the prefix.
+     *
+     * @param prefix lower-case word prefix
+     * @return exact matches
+     */
+    public BitSet withWordPrefix(String prefix) {
+        BitSet ids = new BitSet();
+        for (IdList list : wordsWithPrefix(prefix).values()) {
+            list.addTo(ids);
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the ids of tasks with a word within the given Levenshtein
+     * distance of the target. Only the words of the description vocabulary
+     * are compared, via a BK-tree, so the cost does not grow with the number
+     * of tasks sharing them.
+     *
+     * @param target lower-case word, possibly misspelt
+     * @param maxDistance largest number of edits to allow
+     * @return exact matches
+     */
+    public BitSet withWordNear(String target, int maxDistance) {
+        // Rebuild once more than half the words in the tree are gone
+        if (wordTree == null || wordTree.size() > 2 * byWord.size()) {
+            wordTree = new BkTree();
+            byWord.keySet().forEach(wordTree::add);
+        }
+        BitSet ids = new BitSet();
+        wordTree.search(target, maxDistance, word -> {
+            IdList list = byWord.get(word);
+            if (list != null) {
+                list.addTo(ids);
+            }
+        });
+        return ids;
+    }
+
+    private Map<String, IdList> wordsWithPrefix(String prefix) {
+        return byWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void addTimeKey(long key) {
+        if (timeKeyCount == timeKeys.length) {
+            timeKeys = Arrays.copyOf(timeKeys, timeKeyCount * 2);
+        }
+        if (timeKeyCount > 0 && key < timeKeys[timeKeyCount - 1]) {
+            isTimeSorted = false;
+        }
+        timeKeys[timeKeyCount++] = key;
+    }
+
+    /** Removes the keys of the given id, which were counted as stale. */
+    private void dropTimeKeys(int id) {
+        int kept = 0;
+        for (int i = 0; i < timeKeyCount; i++) {
+            if ((int) timeKeys[i] != id) {
+                timeKeys[kept++] = timeKeys[i];
+            }
+        }
+        staleTimeKeys -= timeKeyCount - kept;
+        timeKeyCount = kept;
+    }
+
+    /**
+     * Sorts keys added out of order and drops keys of removed tasks once they
+     * make up half the array. Both are deferred to the next time query so
+     * that loading and deleting stay cheap.
+     */
+    private void ensureTimeSorted() {
+        if (staleTimeKeys * 2 > timeKeyCount) {
+            int kept = 0;
+            for (int i = 0; i < timeKeyCount; i++) {
+                if (live.get((int) timeKeys[i])) {
+                    timeKeys[kept++] = timeKeys[i];
+                }
+            }
+            timeKeyCount = kept;
+            staleTimeKeys = 0;
+        }
+        if (!isTimeSorted) {
+            Arrays.sort(timeKeys, 0, timeKeyCount);
+            isTimeSorted = true;
+        }
+    }
+
+    /** Returns the index of the first key at or after the given minute. */
+    private int lowerBound(long minute) {
+        int index = Arrays.binarySearch(timeKeys, 0, timeKeyCount, minute << 32);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,62 @@
+package components.index;
+
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import utilities.DateTime;
+
+/**
+ * Orders a {@link SortedView} can keep tasks in. Each order maps a task to a
+ * numeric key and, for text orders, a string key; ties fall back to the task
+ * id, which is list order. Tasks without the sorted field come last.
+ */
+public enum SortOrder {
+    /** Deadlines by due date; other tasks last. */
+    DEADLINE,
+    /** Events and recurring tasks by (first) start; other tasks last. */
+    START,
+    /** Pending tasks before done ones. */
+    STATUS,
+    /** Descriptions alphabetically, ignoring case. */
+    DESCRIPTION;
+
+    /** Key given to tasks that lack the sorted field. */
+    private static final long MISSING = Long.MAX_VALUE;
+
+    /**
+     * Returns the numeric part of the sort key of a task.
+     *
+     * @param task task to key
+     * @return numeric key
+     */
+    long numericKey(Task task) {
+        switch (this) {
+        case DEADLINE:
+            return task instanceof DeadlineTask
+                            ? DateTime.toEpochMinute(((DeadlineTask) task).getDeadline())
+                            : MISSING;
+        case START:
+            if (task instanceof EventTask) {
+                return DateTime.toEpochMinute(((EventTask) task).getStartTime());
+            }
+            return task instanceof RecurringTask
+                            ? DateTime.toEpochMinute(((RecurringTask) task).getStartTime())
+                            : MISSING;
+        case STATUS:
+            return task.isDone() ? 1 : 0;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the text part of the sort key of a task.
+     *
+     * @param task task to key
+     * @return text key, or null if the order is numeric only
+     */
+    String textKey(Task task) {
+        return this == DESCRIPTION ? task.getDescription().toLowerCase() : null;
+    }
+}
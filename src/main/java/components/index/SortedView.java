@@ -0,0 +1,209 @@
+package components.index;
+
+import java.util.Random;
+
+import components.TodoListener;
+import components.task.Task;
+
+/**
+ * Keeps the task ids of a todo list in one {@link SortOrder}, as a treap
+ * ordered by {@code (key, id)} where every node also records the size of its
+ * subtree. Adds, toggles and deletes update it in expected O(log n), and a
+ * page of k tasks from any offset is read in expected O(log n + k) without
+ * sorting.
+ */
+public class SortedView implements TodoListener {
+    /** Rough cost of a node object. */
+    private static final long NODE_BYTES = 48;
+    /** Rough cost of the lower-cased description a {@link SortOrder#DESCRIPTION} node keeps. */
+    private static final long TEXT_BYTES = 64;
+
+    private final SortOrder order;
+    private final Random random = new Random();
+    private Node root;
+
+    private static class Node {
+        private final long key;
+        private final String text;
+        private final int id;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(long key, String text, int id, int priority) {
+            this.key = key;
+            this.text = text;
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Creates an empty view in the given order.
+     *
+     * @param order order to keep tasks in
+     */
+    public SortedView(SortOrder order) {
+        this.order = order;
+    }
+
+    @Override
+    public void onTaskAdded(int id, int position, Task task) {
+        root = insert(root, new Node(order.numericKey(task), order.textKey(task), id,
+                        random.nextInt()));
+    }
+
+    @Override
+    public void onTaskToggled(int id, int position, Task task) {
+        if (order != SortOrder.STATUS) {
+            return;
+        }
+        long oldKey = task.isDone() ? 0 : 1;
+        root = remove(root, oldKey, null, id);
+        onTaskAdded(id, position, task);
+    }
+
+    @Override
+    public void onTaskRemoved(int id, int position, Task task) {
+        root = remove(root, order.numericKey(task), order.textKey(task), id);
+    }
+
+    /**
+     * Returns the number of tasks in the view.
+     *
+     * @return task count
+     */
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return size() * (order == SortOrder.DESCRIPTION ? NODE_BYTES + TEXT_BYTES : NODE_BYTES);
+    }
+
+    /**
+     * Returns the ids at ranks {@code [offset, offset + limit)} in sorted
+     * order.
+     *
+     * @param offset 0-based rank of the first id
+     * @param limit maximum number of ids
+     * @return ids in sorted order, possibly fewer than limit
+     */
+    public int[] page(int offset, int limit) {
+        int[] ids = new int[Math.max(0, Math.min(limit, size() - offset))];
+        collect(root, offset, ids, 0);
+        return ids;
+    }
+
+    /**
+     * Writes the in-order ids of the subtree from rank {@code skip} into
+     * {@code out} starting at {@code filled}.
+     *
+     * @return the new number of filled slots
+     */
+    private static int collect(Node node, int skip, int[] out, int filled) {
+        if (node == null || filled == out.length) {
+            return filled;
+        }
+        int leftSize = size(node.left);
+        if (skip < leftSize) {
+            filled = collect(node.left, skip, out, filled);
+        }
+        if (filled < out.length && skip <= leftSize) {
+            out[filled++] = node.id;
+        }
+        return collect(node.right, Math.max(0, skip - leftSize - 1), out, filled);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.key, added.text, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, long key, String text, int id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(key, text, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, key, text, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, key, text, id);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every key in {@code left} precedes every key in
+     * {@code right}.
+     */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(long key, String text, int id, Node node) {
+        int cmp = Long.compare(key, node.key);
+        if (cmp == 0 && text != null) {
+            cmp = text.compareTo(node.text);
+        }
+        return cmp != 0 ? cmp : Integer.compare(id, node.id);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
@@ -0,0 +1,91 @@
+package components.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import components.TodoListener;
+import components.task.Task;
+
+/**
+ * Index of task ids by tag, see {@link Task#tagsOf(String)}. Each tag has a
+ * {@link RoaringBitmap} of the ids of the tasks carrying it, so filters over
+ * several tags are evaluated as bitmap intersections, unions and differences
+ * without looking at any description.
+ */
+public class TagIndex implements TodoListener {
+    /** Rough cost of a tag entry: map node, key String and bitmap object. */
+    private static final long TAG_BYTES = 120;
+
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    @Override
+    public void onTaskAdded(int id, int position, Task task) {
+        live.add(id);
+        for (String tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, t -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    @Override
+    public void onTaskToggled(int id, int position, Task task) {
+        // Tags live in the description, which doesn't change
+    }
+
+    @Override
+    public void onTaskRemoved(int id, int position, Task task) {
+        live.remove(id);
+        for (String tag : task.getTags()) {
+            RoaringBitmap ids = byTag.get(tag);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    byTag.remove(tag);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of tasks that carry at least one tag of every group in
+     * {@code allOf} and no tag in {@code noneOf}. With no groups, every task
+     * without an excluded tag is selected.
+     *
+     * @param allOf groups of lower-case tags, each group an alternative
+     * @param noneOf lower-case tags to exclude
+     * @return matching ids, ascending
+     */
+    public int[] select(List<List<String>> allOf, List<String> noneOf) {
+        RoaringBitmap selected = null;
+        for (List<String> anyOf : allOf) {
+            // The operations never modify their operands, so a lone tag's bitmap is used as is
+            RoaringBitmap group = withTag(anyOf.get(0));
+            for (String tag : anyOf.subList(1, anyOf.size())) {
+                group = RoaringBitmap.or(group, withTag(tag));
+            }
+            selected = selected == null ? group : RoaringBitmap.and(selected, group);
+        }
+        if (selected == null) {
+            selected = live;
+        }
+        for (String tag : noneOf) {
+            selected = RoaringBitmap.andNot(selected, withTag(tag));
+        }
+        return selected.toArray();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long bytes = live.estimatedBytes();
+        for (RoaringBitmap ids : byTag.values()) {
+            bytes += TAG_BYTES + ids.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private RoaringBitmap withTag(String tag) {
+        RoaringBitmap ids = byTag.get(tag);
+        return ids == null ? new RoaringBitmap() : ids;
+    }
+}
@@ -0,0 +1,197 @@
+package components.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import components.TodoListener;
+import components.task.Task;
+
+/**
+ * Trie of the words in task descriptions, split as by
+ * {@link QueryIndex#words(String)}, for completing a word from its prefix.
+ * Each word counts the tasks it appears in and disappears when the last of
+ * them is deleted. Completing a prefix walks only the prefix and the words
+ * returned, so it takes microseconds however many tasks there are.
+ * <p>
+ * Unlike the other indexes this one is read from outside the list's thread,
+ * by as-you-type lookups, so it is guarded by a read-write lock.
+ */
+public class WordTrie implements TodoListener {
+    /** Rough cost per distinct word: the nodes it adds, with their key and child arrays. */
+    private static final long WORD_BYTES = 96;
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int wordCount;
+
+    /** Children are kept sorted by key, so a walk yields words in order. */
+    private static class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        /** Number of tasks containing the word ending here. */
+        private int count;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int at = -index - 1;
+            Node created = new Node();
+            keys = insert(keys, at, key);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = created;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+            return created;
+        }
+
+        void removeChild(char key) {
+            int at = Arrays.binarySearch(keys, key);
+            char[] shrunkKeys = new char[keys.length - 1];
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(keys, 0, shrunkKeys, 0, at);
+            System.arraycopy(keys, at + 1, shrunkKeys, at, keys.length - at - 1);
+            System.arraycopy(children, 0, shrunk, 0, at);
+            System.arraycopy(children, at + 1, shrunk, at, children.length - at - 1);
+            keys = shrunkKeys;
+            children = shrunk;
+        }
+
+        private static char[] insert(char[] array, int at, char key) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = key;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+    }
+
+    @Override
+    public void onTaskAdded(int id, int position, Task task) {
+        Set<String> words = new HashSet<>(QueryIndex.words(task.getDescription()));
+        lock.writeLock().lock();
+        try {
+            for (String word : words) {
+                Node node = root;
+                for (int i = 0; i < word.length(); i++) {
+                    node = node.childOrCreate(word.charAt(i));
+                }
+                if (node.count++ == 0) {
+                    wordCount++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onTaskToggled(int id, int position, Task task) {
+        // Descriptions don't change
+    }
+
+    @Override
+    public void onTaskRemoved(int id, int position, Task task) {
+        Set<String> words = new HashSet<>(QueryIndex.words(task.getDescription()));
+        lock.writeLock().lock();
+        try {
+            for (String word : words) {
+                remove(word);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct words in the trie.
+     *
+     * @return word count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return wordCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return size() * WORD_BYTES;
+    }
+
+    /**
+     * Returns up to {@code limit} words starting with the prefix, in
+     * alphabetical order. The prefix itself is included if it is a word.
+     *
+     * @param prefix lower-case prefix
+     * @param limit maximum number of words
+     * @return matching words
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> words = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node != null) {
+                collect(node, new StringBuilder(prefix), words, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return words;
+    }
+
+    private static void collect(Node node, StringBuilder word, List<String> out, int limit) {
+        if (node.count > 0) {
+            out.add(word.toString());
+        }
+        for (int i = 0; i < node.keys.length && out.size() < limit; i++) {
+            word.append(node.keys[i]);
+            collect(node.children[i], word, out, limit);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Removes one task's use of a word, dropping nodes that no longer lead to
+     * any word.
+     */
+    private void remove(String word) {
+        Node[] path = new Node[word.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = path[i].child(word.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node last = path[word.length()];
+        if (last.count == 0 || --last.count > 0) {
+            return;
+        }
+        wordCount--;
+        for (int i = word.length(); i > 0 && path[i].count == 0 && path[i].keys.length == 0; i--) {
+            path[i - 1].removeChild(word.charAt(i - 1));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package components.query;
+
+import java.util.BitSet;
+
+import components.index.QueryIndex;
+import components.task.Task;
+
+/**
+ * Matches tasks by completion status, written {@code done:true} or
+ * {@code done:false}.
+ */
+public class DoneTerm implements Term {
+    private final boolean isDone;
+
+    public DoneTerm(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.isDone() == isDone;
+    }
+
+    @Override
+    public int estimate(QueryIndex index, int limit) {
+        return index.countWithStatus(isDone);
+    }
+
+    @Override
+    public BitSet candidates(QueryIndex index) {
+        return index.withStatus(isDone);
+    }
+}
@@ -0,0 +1,147 @@
+package components.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import components.index.QueryIndex;
+import components.task.Task;
+import components.task.TaskType;
+
+/**
+ * A parsed filter query: a conjunction of {@link Term}s, such as
+ * {@code type:deadline done:false before:2025-12-01 text:report}.
+ * <p>
+ * Queries are planned against a {@link QueryIndex}: the term with the fewest
+ * candidates is looked up in the index, and only those candidates are
+ * checked against the remaining terms, so a selective term keeps even a huge
+ * list from being scanned.
+ */
+public class Query {
+    private static final String USAGE = "Try terms like type:deadline done:false "
+                    + "before:2025-12-01 after:2025-11-01 text:report";
+
+    private final List<Term> terms;
+
+    private Query(List<Term> terms) {
+        this.terms = terms;
+    }
+
+    /**
+     * Parses a query string. Terms are separated by whitespace and written
+     * {@code key:value}; a bare word is short for {@code text:word}. Dates
+     * are {@code yyyy-MM-dd} and refer to the start of that day.
+     *
+     * @param text query string
+     * @return the parsed query
+     * @throws IllegalArgumentException if the query is empty or a term is
+     *             invalid
+     */
+    public static Query parse(String text) throws IllegalArgumentException {
+        List<Term> terms = new ArrayList<>();
+        for (String token : text.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            int colon = token.indexOf(':');
+            String key = colon < 0 ? "text" : token.substring(0, colon).toLowerCase();
+            String value = colon < 0 ? token : token.substring(colon + 1);
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Missing value for " + key + ". " + USAGE);
+            }
+            switch (key) {
+            case "type":
+                terms.add(new TypeTerm(parseType(value)));
+                break;
+            case "done":
+                terms.add(new DoneTerm(parseBoolean(value)));
+                break;
+            case "before":
+                terms.add(new TimeTerm(parseDate(value), true));
+                break;
+            case "after":
+                terms.add(new TimeTerm(parseDate(value), false));
+                break;
+            case "text":
+                for (String word : QueryIndex.words(value)) {
+                    terms.add(new TextTerm(word));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown query term " + key + ". " + USAGE);
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Please provide a query. " + USAGE);
+        }
+        return new Query(terms);
+    }
+
+    /**
+     * Runs the query.
+     *
+     * @param index index of the list being queried
+     * @param taskById returns the task with a given id, or null if it is gone
+     * @return ids of the matching tasks, ascending
+     */
+    public int[] execute(QueryIndex index, IntFunction<Task> taskById) {
+        Term driver = terms.get(0);
+        int best = driver.estimate(index, Integer.MAX_VALUE);
+        for (Term term : terms.subList(1, terms.size())) {
+            int estimate = term.estimate(index, best);
+            if (estimate < best) {
+                driver = term;
+                best = estimate;
+            }
+        }
+
+        // Candidates may be a superset, so the driving term is checked too
+        BitSet candidates = driver.candidates(index);
+        return candidates.stream().filter(id -> {
+            Task task = taskById.apply(id);
+            if (task == null) {
+                return false;
+            }
+            for (Term filter : terms) {
+                if (!filter.matches(task)) {
+                    return false;
+                }
+            }
+            return true;
+        }).toArray();
+    }
+
+    private static TaskType parseType(String value) {
+        try {
+            return TaskType.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown task type " + value
+                            + ". Use todo, deadline, event or recurring.");
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        switch (value.toLowerCase()) {
+        case "true":
+        case "yes":
+            return true;
+        case "false":
+        case "no":
+            return false;
+        default:
+            throw new IllegalArgumentException("done: takes true or false.");
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        try {
+            return LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date " + value + ". Use yyyy-MM-dd.");
+        }
+    }
+}
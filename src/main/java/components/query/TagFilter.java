@@ -0,0 +1,104 @@
+package components.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import components.index.TagIndex;
+import components.task.Task;
+
+/**
+ * A parsed tag filter, such as {@code #work #urgent|#today -#blocked}:
+ * tasks with every space-separated tag, where {@code |} joins alternatives,
+ * and none of the tags marked with {@code -}. Evaluated entirely on a
+ * {@link TagIndex}.
+ */
+public class TagFilter {
+    private static final String USAGE = "Try filters like #work #urgent|#today -#blocked";
+
+    private final List<List<String>> allOf;
+    private final List<String> noneOf;
+
+    private TagFilter(List<List<String>> allOf, List<String> noneOf) {
+        this.allOf = allOf;
+        this.noneOf = noneOf;
+    }
+
+    /**
+     * Returns whether the text looks like a tag filter rather than other
+     * arguments, i.e. starts with {@code #} or {@code -#}.
+     *
+     * @param text trimmed argument text
+     * @return true if it should be parsed as a tag filter
+     */
+    public static boolean isTagFilter(String text) {
+        return text.startsWith("#") || text.startsWith("-#");
+    }
+
+    /**
+     * Parses a tag filter. Tags are matched case-insensitively.
+     *
+     * @param text filter string
+     * @return the parsed filter
+     * @throws IllegalArgumentException if the filter is empty or a token is
+     *             not a tag
+     */
+    public static TagFilter parse(String text) throws IllegalArgumentException {
+        List<List<String>> allOf = new ArrayList<>();
+        List<String> noneOf = new ArrayList<>();
+        for (String token : text.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            boolean isExcluded = token.startsWith("-");
+            List<String> tags = new ArrayList<>();
+            for (String alternative : (isExcluded ? token.substring(1) : token).split("\\|", -1)) {
+                tags.add(parseTag(alternative));
+            }
+            if (isExcluded) {
+                noneOf.addAll(tags);
+            } else {
+                allOf.add(tags);
+            }
+        }
+        if (allOf.isEmpty() && noneOf.isEmpty()) {
+            throw new IllegalArgumentException("Please provide a tag. " + USAGE);
+        }
+        return new TagFilter(allOf, noneOf);
+    }
+
+    private static String parseTag(String text) {
+        if (text.length() < 2 || text.charAt(0) != '#'
+                        || !text.substring(1).chars().allMatch(c -> Task.isTagChar((char) c))) {
+            throw new IllegalArgumentException("Not a tag: " + text + ". " + USAGE);
+        }
+        return text.substring(1).toLowerCase();
+    }
+
+    /**
+     * Returns the ids of the tasks passing the filter.
+     *
+     * @param index tag index of the list
+     * @return matching ids, ascending
+     */
+    public int[] execute(TagIndex index) {
+        return index.select(allOf, noneOf);
+    }
+
+    /**
+     * Returns the filter in a normal form, so equivalent filters can share
+     * cached results.
+     *
+     * @return normalised filter text
+     */
+    @Override
+    public String toString() {
+        List<String> tokens = new ArrayList<>();
+        for (List<String> anyOf : allOf) {
+            tokens.add("#" + String.join("|#", anyOf));
+        }
+        for (String tag : noneOf) {
+            tokens.add("-#" + tag);
+        }
+        return String.join(" ", tokens);
+    }
+}
@@ -0,0 +1,42 @@
+package components.query;
+
+import java.util.BitSet;
+
+import components.index.QueryIndex;
+import components.task.Task;
+
+/**
+ * A single predicate of a {@link Query}. Each term can both test a task and
+ * look up its candidates in a {@link QueryIndex}, so that the planner can
+ * drive the query from whichever term is most selective and apply the others
+ * as filters.
+ */
+public interface Term {
+    /**
+     * Tests a task against this term.
+     *
+     * @param task task to test
+     * @return true if the task satisfies the term
+     */
+    boolean matches(Task task);
+
+    /**
+     * Returns an upper bound on the number of candidates
+     * {@link #candidates(QueryIndex)} would return. Counting may stop early
+     * once the result exceeds {@code limit}.
+     *
+     * @param index index of the list being queried
+     * @param limit count beyond which the exact number does not matter
+     * @return candidate count, or a number above limit
+     */
+    int estimate(QueryIndex index, int limit);
+
+    /**
+     * Looks up the ids of the tasks that may satisfy this term. Every
+     * matching task is included; non-matching ones may be.
+     *
+     * @param index index of the list being queried
+     * @return candidate ids
+     */
+    BitSet candidates(QueryIndex index);
+}
@@ -0,0 +1,43 @@
+package components.query;
+
+import java.util.BitSet;
+
+import components.index.QueryIndex;
+import components.task.Task;
+
+/**
+ * Matches tasks with a description word starting with the given text,
+ * ignoring case, written {@code text:rep} or just {@code rep}.
+ */
+public class TextTerm implements Term {
+    private final String prefix;
+
+    /**
+     * Creates a text term.
+     *
+     * @param prefix word prefix to look for; must be a single word
+     */
+    public TextTerm(String prefix) {
+        this.prefix = prefix.toLowerCase();
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        for (String word : QueryIndex.words(task.getDescription())) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int estimate(QueryIndex index, int limit) {
+        return index.countWithWordPrefix(prefix, limit);
+    }
+
+    @Override
+    public BitSet candidates(QueryIndex index) {
+        return index.withWordPrefix(prefix);
+    }
+}
@@ -0,0 +1,60 @@
+package components.query;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+
+import components.index.QueryIndex;
+import components.task.RecurringTask;
+import components.task.Task;
+import utilities.DateTime;
+
+/**
+ * Matches deadlines and events by time, written {@code before:2025-12-01}
+ * (strictly before) or {@code after:2025-12-01} (at or after). A deadline is
+ * timed by its due date and an event by its start; a recurring task matches
+ * if any of its occurrences does. Tasks without a time never match.
+ */
+public class TimeTerm implements Term {
+    private final LocalDateTime bound;
+    private final boolean isBefore;
+
+    /**
+     * Creates a time term.
+     *
+     * @param bound date-time to compare against
+     * @param isBefore true for before, false for after
+     */
+    public TimeTerm(LocalDateTime bound, boolean isBefore) {
+        this.bound = bound;
+        this.isBefore = isBefore;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        if (task instanceof RecurringTask) {
+            RecurringTask rule = (RecurringTask) task;
+            return isBefore ? rule.getStartTime().isBefore(bound)
+                            : rule.nextOccurrence(bound) != null;
+        }
+        LocalDateTime time = QueryIndex.timeOf(task);
+        return time != null && time.isBefore(bound) == isBefore;
+    }
+
+    @Override
+    public int estimate(QueryIndex index, int limit) {
+        return isBefore ? index.countInTimeRange(Long.MIN_VALUE >> 32, minute())
+                        : index.countInTimeRange(minute(), Long.MAX_VALUE >> 32);
+    }
+
+    @Override
+    public BitSet candidates(QueryIndex index) {
+        return isBefore ? index.inTimeRange(Long.MIN_VALUE >> 32, minute())
+                        : index.inTimeRange(minute(), Long.MAX_VALUE >> 32);
+    }
+
+    /** Returns the bound in epoch minutes, rounded up to a whole minute. */
+    private long minute() {
+        long minute = DateTime.toEpochMinute(bound);
+        return bound.getSecond() > 0 || bound.getNano() > 0 ? minute + 1 : minute;
+    }
+}
@@ -0,0 +1,33 @@
+package components.query;
+
+import java.util.BitSet;
+
+import components.index.QueryIndex;
+import components.task.Task;
+import components.task.TaskType;
+
+/**
+ * Matches tasks of one type, written {@code type:deadline}.
+ */
+public class TypeTerm implements Term {
+    private final TaskType type;
+
+    public TypeTerm(TaskType type) {
+        this.type = type;
+    }
+
+    @Override
+    public boolean matches(Task task) {
+        return task.getType() == type;
+    }
+
+    @Override
+    public int estimate(QueryIndex index, int limit) {
+        return index.countOfType(type);
+    }
+
+    @Override
+    public BitSet candidates(QueryIndex index) {
+        return index.ofType(type);
+    }
+}
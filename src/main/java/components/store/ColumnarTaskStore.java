@@ -0,0 +1,348 @@
+package components.store;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import components.task.TaskType;
+import utilities.DateTime;
+
+/**
+ * Struct-of-arrays {@link TaskStore}. Each task occupies one slot across a
+ * set of primitive columns instead of being a separate heap object:
+ * <ul>
+ * <li>{@code ids} - stable task ids</li>
+ * <li>{@code types} - {@link TaskType} ordinal</li>
+ * <li>{@code done} - completion flags</li>
+ * <li>{@code starts} / {@code ends} - epoch minutes (deadline, or event or
+ * first recurrence start and end)</li>
+ * <li>{@code arena} - all descriptions packed as UTF-8, addressed by
+ * {@code descOffsets} / {@code descLengths}</li>
+ * </ul>
+ * The few extra fields of a {@link RecurringTask} are kept in a side map by
+ * id rather than as columns every task would pay for.
+ * <p>
+ * {@link Task} objects returned by {@link #get(int)} are views built on
+ * demand; changes to them are not written back.
+ */
+public class ColumnarTaskStore implements TaskStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long SECONDS_PER_WEEK = 7L * 24 * 60 * 60;
+    private static final TaskType[] TYPES = TaskType.values();
+    /** Rough cost of a side map entry: node, boxed id, recurrence and until. */
+    private static final long RECURRENCE_BYTES = 120;
+
+    private int size;
+    private int nextId;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private BitSet done = new BitSet();
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] descOffsets = new int[INITIAL_CAPACITY];
+    private int[] descLengths = new int[INITIAL_CAPACITY];
+    /** Recurrence fields of each recurring task, by id. */
+    private final Map<Integer, Recurrence> recurrences = new HashMap<>();
+
+    private byte[] arena = new byte[INITIAL_CAPACITY * 32];
+    private int arenaUsed;
+    /** Bytes in the arena no longer referenced by any task. */
+    private int arenaGarbage;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int add(Task task) {
+        ensureCapacity(size + 1);
+        ids[size] = nextId;
+        write(size, task);
+        size++;
+        return nextId++;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task replaced = get(index);
+        arenaGarbage += descLengths[index];
+        recurrences.remove(ids[index]);
+        write(index, task);
+        if (arenaGarbage > arenaUsed / 2) {
+            compactArena();
+        }
+        return replaced;
+    }
+
+    /** Writes every column but the id of the slot at the given position. */
+    private void write(int index, Task task) {
+        types[index] = (byte) task.getType().ordinal();
+        done.set(index, task.isDone());
+        starts[index] = 0;
+        ends[index] = 0;
+
+        if (task instanceof DeadlineTask) {
+            starts[index] = DateTime.toEpochMinute(((DeadlineTask) task).getDeadline());
+        } else if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            starts[index] = DateTime.toEpochMinute(event.getStartTime());
+            ends[index] = DateTime.toEpochMinute(event.getEndTime());
+        } else if (task instanceof RecurringTask) {
+            RecurringTask recurring = (RecurringTask) task;
+            starts[index] = DateTime.toEpochMinute(recurring.getStartTime());
+            ends[index] = DateTime.toEpochMinute(recurring.getEndTime());
+            recurrences.put(ids[index], new Recurrence(recurring.getIntervalDays(),
+                            recurring.getUntil()));
+        }
+
+        byte[] desc = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        ensureArenaCapacity(desc.length);
+        System.arraycopy(desc, 0, arena, arenaUsed, desc.length);
+        descOffsets[index] = arenaUsed;
+        descLengths[index] = desc.length;
+        arenaUsed += desc.length;
+    }
+
+    @Override
+    public int getId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    @Override
+    public int indexOf(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        String description = getDescription(index);
+        boolean isDone = done.get(index);
+        switch (TYPES[types[index]]) {
+        case DEADLINE:
+            return new DeadlineTask(description, isDone,
+                            DateTime.fromEpochMinute(starts[index]));
+        case EVENT:
+            return new EventTask(description, isDone,
+                            DateTime.fromEpochMinute(starts[index]),
+                            DateTime.fromEpochMinute(ends[index]));
+        case RECURRING:
+            Recurrence recurrence = recurrences.get(ids[index]);
+            return new RecurringTask(description, isDone,
+                            DateTime.fromEpochMinute(starts[index]),
+                            DateTime.fromEpochMinute(ends[index]),
+                            recurrence.intervalDays, recurrence.until);
+        default:
+            return new Task(description, isDone);
+        }
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        arenaGarbage += descLengths[index];
+        recurrences.remove(ids[index]);
+
+        int tail = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, tail);
+        System.arraycopy(types, index + 1, types, index, tail);
+        System.arraycopy(starts, index + 1, starts, index, tail);
+        System.arraycopy(ends, index + 1, ends, index, tail);
+        System.arraycopy(descOffsets, index + 1, descOffsets, index, tail);
+        System.arraycopy(descLengths, index + 1, descLengths, index, tail);
+        for (int i = index; i < size - 1; i++) {
+            done.set(i, done.get(i + 1));
+        }
+        size--;
+        done.clear(size);
+
+        if (arenaGarbage > arenaUsed / 2) {
+            compactArena();
+        }
+        return removed;
+    }
+
+    @Override
+    public void removeAll(int[] indexes) {
+        int kept = 0;
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                arenaGarbage += descLengths[i];
+                recurrences.remove(ids[i]);
+                continue;
+            }
+            ids[kept] = ids[i];
+            types[kept] = types[i];
+            starts[kept] = starts[i];
+            ends[kept] = ends[i];
+            descOffsets[kept] = descOffsets[i];
+            descLengths[kept] = descLengths[i];
+            done.set(kept, done.get(i));
+            kept++;
+        }
+        done.clear(kept, size);
+        size = kept;
+
+        if (arenaGarbage > arenaUsed / 2) {
+            compactArena();
+        }
+    }
+
+    @Override
+    public Task toggleDone(int index) {
+        checkIndex(index);
+        done.flip(index);
+        return get(index);
+    }
+
+    @Override
+    public String getDescription(int index) {
+        checkIndex(index);
+        return new String(arena, descOffsets[index], descLengths[index],
+                        StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        checkIndex(index);
+        return done.get(index);
+    }
+
+    @Override
+    public boolean isDueSoon(int index, LocalDateTime now) {
+        checkIndex(index);
+        TaskType type = TYPES[types[index]];
+        if (type == TaskType.RECURRING) {
+            return get(index).isDueSoon(now);
+        }
+        if (done.get(index) || (type != TaskType.DEADLINE && type != TaskType.EVENT)) {
+            return false;
+        }
+
+        // Stored times have minute resolution, so comparing against now
+        // rounded up to the next whole second is exact.
+        long nowSecond = now.toEpochSecond(ZoneOffset.UTC) + (now.getNano() > 0 ? 1 : 0);
+        long dueSecond = starts[index] * 60;
+        return dueSecond >= nowSecond && dueSecond < nowSecond + SECONDS_PER_WEEK;
+    }
+
+    /**
+     * Matches directly against the UTF-8 arena when both the search term and
+     * the description are ASCII, avoiding a String per task.
+     */
+    @Override
+    public boolean fuzzyMatches(int index, String search) {
+        checkIndex(index);
+        int offset = descOffsets[index];
+        int end = offset + descLengths[index];
+        int searchIndex = 0;
+
+        for (int i = offset; i < end && searchIndex < search.length(); i++) {
+            byte b = arena[i];
+            char s = search.charAt(searchIndex);
+            if (b < 0 || s >= 0x80) {
+                return TaskStore.super.fuzzyMatches(index, search);
+            }
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b == s) {
+                searchIndex++;
+            }
+        }
+
+        return searchIndex == search.length();
+    }
+
+    @Override
+    public long estimatedBytes() {
+        // Bytes per slot of ids, types, starts, ends, descOffsets and descLengths
+        long columns = types.length * (4L + 1 + 8 + 8 + 4 + 4);
+        return columns + done.size() / 8 + arena.length + recurrences.size() * RECURRENCE_BYTES;
+    }
+
+    @Override
+    public List<Task> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                return ColumnarTaskStore.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= types.length) {
+            return;
+        }
+        int capacity = Math.max(required, types.length + (types.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        types = Arrays.copyOf(types, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        descOffsets = Arrays.copyOf(descOffsets, capacity);
+        descLengths = Arrays.copyOf(descLengths, capacity);
+    }
+
+    private void ensureArenaCapacity(int extra) {
+        if (arenaUsed + extra <= arena.length) {
+            return;
+        }
+        int capacity = Math.max(arenaUsed + extra, arena.length + (arena.length >> 1));
+        arena = Arrays.copyOf(arena, capacity);
+    }
+
+    /**
+     * Rewrites the arena so that descriptions are contiguous again, dropping
+     * bytes left behind by removed tasks.
+     */
+    private void compactArena() {
+        byte[] compacted = new byte[Math.max(arenaUsed - arenaGarbage, INITIAL_CAPACITY)];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(arena, descOffsets[i], compacted, used, descLengths[i]);
+            descOffsets[i] = used;
+            used += descLengths[i];
+        }
+        arena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    /** Recurrence fields of a {@link RecurringTask} not held in columns. */
+    private static class Recurrence {
+        private final int intervalDays;
+        private final LocalDateTime until;
+
+        Recurrence(int intervalDays, LocalDateTime until) {
+            this.intervalDays = intervalDays;
+            this.until = until;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package components.store;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import components.task.Task;
+
+/**
+ * Default {@link TaskStore} keeping one heap object per task in an
+ * {@link ArrayList}.
+ */
+public class ListTaskStore implements TaskStore {
+    /** Rough cost of a task object, its description String and date-times, besides the text. */
+    private static final long TASK_BYTES = 128;
+
+    private final ArrayList<Task> tasks = new ArrayList<>();
+    /** Task ids, parallel to {@link #tasks}. */
+    private int[] ids = new int[16];
+    private int nextId;
+    /** Total description length of the stored tasks. */
+    private long descriptionChars;
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public int add(Task task) {
+        if (tasks.size() == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1));
+        }
+        ids[tasks.size()] = nextId;
+        tasks.add(task);
+        descriptionChars += task.getDescription().length();
+        return nextId++;
+    }
+
+    @Override
+    public int getId(int index) {
+        Objects.checkIndex(index, tasks.size());
+        return ids[index];
+    }
+
+    @Override
+    public int indexOf(int id) {
+        int index = Arrays.binarySearch(ids, 0, tasks.size(), id);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = tasks.remove(index);
+        System.arraycopy(ids, index + 1, ids, index, tasks.size() - index);
+        descriptionChars -= removed.getDescription().length();
+        return removed;
+    }
+
+    @Override
+    public void removeAll(int[] indexes) {
+        int kept = 0;
+        int next = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                descriptionChars -= tasks.get(i).getDescription().length();
+                continue;
+            }
+            tasks.set(kept, tasks.get(i));
+            ids[kept] = ids[i];
+            kept++;
+        }
+        tasks.subList(kept, tasks.size()).clear();
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task replaced = tasks.set(index, task);
+        descriptionChars += task.getDescription().length() - replaced.getDescription().length();
+        return replaced;
+    }
+
+    @Override
+    public Task toggleDone(int index) {
+        Task task = tasks.get(index);
+        task.toggleDone();
+        return task;
+    }
+
+    @Override
+    public String getDescription(int index) {
+        return tasks.get(index).getDescription();
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        return tasks.get(index).isDone();
+    }
+
+    @Override
+    public boolean isDueSoon(int index, LocalDateTime now) {
+        return tasks.get(index).isDueSoon(now);
+    }
+
+    @Override
+    public long estimatedBytes() {
+        // Plus a list slot and an id each; descriptions are mostly Latin-1, a byte per char
+        return tasks.size() * (TASK_BYTES + 4 + 4) + descriptionChars;
+    }
+
+    @Override
+    public List<Task> asList() {
+        return Collections.unmodifiableList(tasks);
+    }
+}
@@ -0,0 +1,190 @@
+package components.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import components.task.Task;
+
+/**
+ * Backing storage for the tasks held by a {@link components.Todo}. All
+ * indices are 0-based positions in insertion order.
+ * <p>
+ * Every task is also given a stable id when added. Ids are assigned in
+ * increasing order and tasks are only ever appended, so ids ascend with
+ * position and {@link #indexOf(int)} can binary search them.
+ * <p>
+ * Implementations may hand out {@link Task} objects that are detached views
+ * of their internal state, so callers must mutate tasks through the store
+ * (e.g. {@link #toggleDone(int)}) rather than through the returned objects.
+ */
+public interface TaskStore {
+    /** System property selecting the store implementation. */
+    String STORE_PROPERTY = "dumpy.store";
+    /** Property value selecting {@link ColumnarTaskStore}. */
+    String STORE_COLUMNAR = "columnar";
+
+    /**
+     * Creates the store selected by the {@value #STORE_PROPERTY} system
+     * property, defaulting to {@link ListTaskStore}.
+     *
+     * @return a new empty store
+     */
+    static TaskStore create() {
+        if (STORE_COLUMNAR.equalsIgnoreCase(System.getProperty(STORE_PROPERTY))) {
+            return new ColumnarTaskStore();
+        }
+        return new ListTaskStore();
+    }
+
+    /**
+     * Returns the number of stored tasks.
+     *
+     * @return task count
+     */
+    int size();
+
+    /**
+     * Appends a task to the end of the store.
+     *
+     * @param task task to append
+     * @return the id assigned to the task
+     */
+    int add(Task task);
+
+    /**
+     * Returns the id of the task at the given position.
+     *
+     * @param index 0-based position
+     * @return task id
+     */
+    int getId(int index);
+
+    /**
+     * Returns the current position of the task with the given id.
+     *
+     * @param id task id
+     * @return 0-based position, or -1 if no such task is stored
+     */
+    int indexOf(int id);
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param index 0-based position
+     * @return the task (possibly a detached view)
+     */
+    Task get(int index);
+
+    /**
+     * Removes the task at the given position, shifting later tasks down.
+     *
+     * @param index 0-based position
+     * @return the removed task
+     */
+    Task remove(int index);
+
+    /**
+     * Removes the tasks at the given positions, closing the gaps. Stores
+     * override this to compact once rather than shift per task.
+     *
+     * @param indexes distinct 0-based positions in ascending order
+     */
+    default void removeAll(int[] indexes) {
+        for (int k = indexes.length - 1; k >= 0; k--) {
+            remove(indexes[k]);
+        }
+    }
+
+    /**
+     * Replaces the task at the given position, which keeps its id.
+     *
+     * @param index 0-based position
+     * @param task the new task
+     * @return the task replaced
+     */
+    Task set(int index, Task task);
+
+    /**
+     * Toggles the completion status of the task at the given position.
+     *
+     * @param index 0-based position
+     * @return the task after toggling
+     */
+    Task toggleDone(int index);
+
+    /**
+     * Returns the description of the task at the given position.
+     *
+     * @param index 0-based position
+     * @return description text
+     */
+    String getDescription(int index);
+
+    /**
+     * Returns whether the task at the given position is done.
+     *
+     * @param index 0-based position
+     * @return true if done
+     */
+    boolean isDone(int index);
+
+    /**
+     * Returns whether the task at the given position is due soon relative to
+     * {@code now}, following {@link Task#isDueSoon(LocalDateTime)}.
+     *
+     * @param index 0-based position
+     * @param now reference time
+     * @return true if due soon
+     */
+    boolean isDueSoon(int index, LocalDateTime now);
+
+    /**
+     * Returns whether the characters of {@code search} appear in order in the
+     * lower-cased description of the task at the given position.
+     *
+     * @param index 0-based position
+     * @param search lower-cased search term
+     * @return true on a fuzzy match
+     */
+    default boolean fuzzyMatches(int index, String search) {
+        return fuzzyMatches(getDescription(index), search);
+    }
+
+    /**
+     * Returns whether the characters of {@code search} appear in order in the
+     * lower-cased description.
+     *
+     * @param description description of a task
+     * @param search lower-cased search term
+     * @return true on a fuzzy match
+     */
+    static boolean fuzzyMatches(String description, String search) {
+        String target = description.toLowerCase();
+        int targetIndex = 0;
+        int searchIndex = 0;
+
+        while (targetIndex < target.length() && searchIndex < search.length()) {
+            if (target.charAt(targetIndex) == search.charAt(searchIndex)) {
+                searchIndex++;
+            }
+            targetIndex++;
+        }
+
+        return searchIndex == search.length();
+    }
+
+    /**
+     * Returns a rough count of the heap bytes the store holds, for memory
+     * budgets. Cheap enough to call on every list switch.
+     *
+     * @return estimated bytes
+     */
+    long estimatedBytes();
+
+    /**
+     * Returns a read-only list view over the store.
+     *
+     * @return list view in insertion order
+     */
+    List<Task> asList();
+}
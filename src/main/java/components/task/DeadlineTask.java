@@ -31,7 +31,7 @@ public class DeadlineTask extends Task {
      * @param status true if the task is already completed
      * @param deadline date-time by which the task is due
      */
-    private DeadlineTask(String description, Boolean status,
+    public DeadlineTask(String description, Boolean status,
                     LocalDateTime deadline) {
         super(description, status);
         this.deadline = deadline;
@@ -70,15 +70,29 @@ public class DeadlineTask extends Task {
     }
 
     /**
-     * Indicates if the deadline is due within a week from now (inclusive of
-     * now, exclusive of +1 week), and only if the task is not already
-     * completed.
+     * Returns the date-time by which the task is due.
      *
+     * @return deadline
+     */
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.DEADLINE;
+    }
+
+    /**
+     * Indicates if the deadline is due within a week from {@code now}
+     * (inclusive of now, exclusive of +1 week), and only if the task is not
+     * already completed.
+     *
+     * @param now reference time
      * @return true if due within one week and not done
      */
     @Override
-    public boolean isDueSoon() {
-        LocalDateTime now = LocalDateTime.now();
+    public boolean isDueSoon(LocalDateTime now) {
         return !super.isDone() && !deadline.isBefore(now) // deadline <= now
                         && deadline.isBefore(now.plusWeeks(1));
     }
@@ -44,14 +44,37 @@ public class EventTask extends Task {
     }
 
     /**
-     * Indicates if the event starts within the next week (now &lt;= start &lt;
-     * now + 1 week) and the task is not yet marked done.
+     * Returns the start date-time of the event.
      *
+     * @return start time
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the end date-time of the event.
+     *
+     * @return end time
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.EVENT;
+    }
+
+    /**
+     * Indicates if the event starts within the week after {@code now} (now
+     * &lt;= start &lt; now + 1 week) and the task is not yet marked done.
+     *
+     * @param now reference time
      * @return true if the event is due soon
      */
     @Override
-    public boolean isDueSoon() {
-        LocalDateTime now = LocalDateTime.now();
+    public boolean isDueSoon(LocalDateTime now) {
         return !super.isDone() && !startTime.isBefore(now) // start >= now
                         && startTime.isBefore(now.plusWeeks(1));
     }
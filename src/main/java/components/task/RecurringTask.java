@@ -0,0 +1,248 @@
+package components.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import utilities.Data;
+import utilities.DateTime;
+
+/**
+ * A Task that repeats every fixed number of days, optionally until a given
+ * date-time. Only the rule is stored: the first occurrence, its end time, the
+ * interval and the last allowed start. Individual occurrences are computed
+ * arithmetically when a window asks for them, so a rule costs the same to
+ * store and scan however many times it repeats.
+ * <p>
+ * Marking a recurring task done marks the whole series done.
+ */
+public class RecurringTask extends Task {
+    /** Token stored in place of the until date when the rule never ends. */
+    public static final String NEVER = "never";
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    /** Start date-time of the first occurrence. */
+    private LocalDateTime startTime;
+    /** End date-time of the first occurrence. */
+    private LocalDateTime endTime;
+    /** Days between the starts of consecutive occurrences (at least 1). */
+    private int intervalDays;
+    /** Latest start date-time of any occurrence, or null if unbounded. */
+    private LocalDateTime until;
+
+    /**
+     * Full constructor allowing explicit completion status.
+     *
+     * @param description textual description of the task
+     * @param status true if the series is already marked done
+     * @param startTime start date-time of the first occurrence
+     * @param endTime end date-time of the first occurrence
+     * @param intervalDays days between occurrences, at least 1
+     * @param until latest start date-time of an occurrence, or null
+     * @throws IllegalArgumentException if intervalDays is not positive
+     */
+    public RecurringTask(String description, Boolean status,
+                    LocalDateTime startTime, LocalDateTime endTime,
+                    int intervalDays, LocalDateTime until) {
+        super(description, status);
+        if (intervalDays <= 0) {
+            throw new IllegalArgumentException("Interval must be at least one day.");
+        }
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.intervalDays = intervalDays;
+        this.until = until;
+    }
+
+    /**
+     * Convenience constructor creating an undone RecurringTask.
+     *
+     * @param description textual description of the task
+     * @param startTime start date-time of the first occurrence
+     * @param endTime end date-time of the first occurrence
+     * @param intervalDays days between occurrences, at least 1
+     * @param until latest start date-time of an occurrence, or null
+     */
+    public RecurringTask(String description, LocalDateTime startTime,
+                    LocalDateTime endTime, int intervalDays, LocalDateTime until) {
+        this(description, false, startTime, endTime, intervalDays, until);
+    }
+
+    /**
+     * Returns the start date-time of the first occurrence.
+     *
+     * @return first start time
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the end date-time of the first occurrence.
+     *
+     * @return first end time
+     */
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Returns the number of days between occurrences.
+     *
+     * @return interval in days
+     */
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    /**
+     * Returns the latest start date-time of any occurrence.
+     *
+     * @return until date-time, or null if the rule never ends
+     */
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    @Override
+    public TaskType getType() {
+        return TaskType.RECURRING;
+    }
+
+    /**
+     * Returns the start of the first occurrence starting at or after
+     * {@code from}.
+     *
+     * @param from reference time
+     * @return next occurrence start, or null if the rule has ended
+     */
+    public LocalDateTime nextOccurrence(LocalDateTime from) {
+        long first = DateTime.toEpochMinute(startTime);
+        long interval = intervalDays * MINUTES_PER_DAY;
+        // Round up to the next whole minute, as occurrences start on one
+        long fromMinute = DateTime.toEpochMinute(from)
+                        + (from.getSecond() > 0 || from.getNano() > 0 ? 1 : 0);
+        long k = Math.max(0, Math.floorDiv(fromMinute - first + interval - 1, interval));
+        long start = first + k * interval;
+        if (until != null && start > DateTime.toEpochMinute(until)) {
+            return null;
+        }
+        return DateTime.fromEpochMinute(start);
+    }
+
+    /**
+     * Returns the start times of the occurrences overlapping
+     * {@code [from, to)}, in order. Occurrences are half-open like events, and
+     * a zero-length occurrence counts as lasting one minute.
+     *
+     * @param from inclusive start of the window
+     * @param to exclusive end of the window
+     * @return occurrence start times, possibly empty
+     */
+    public List<LocalDateTime> occurrences(LocalDateTime from, LocalDateTime to) {
+        long first = DateTime.toEpochMinute(startTime);
+        long duration = Math.max(DateTime.toEpochMinute(endTime) - first, 1);
+        long interval = intervalDays * MINUTES_PER_DAY;
+        long fromMinute = DateTime.toEpochMinute(from);
+        long toMinute = DateTime.toEpochMinute(to);
+
+        // Occurrence k overlaps when first + k*interval < to and
+        // first + k*interval + duration > from
+        long lo = Math.max(0, Math.floorDiv(fromMinute - first - duration, interval) + 1);
+        long hi = Math.floorDiv(toMinute - first - 1, interval);
+        if (until != null) {
+            hi = Math.min(hi, Math.floorDiv(DateTime.toEpochMinute(until) - first, interval));
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (long k = lo; k <= hi; k++) {
+            starts.add(DateTime.fromEpochMinute(first + k * interval));
+        }
+        return starts;
+    }
+
+    /**
+     * Indicates if the next occurrence starts within the week after
+     * {@code now} and the series is not marked done.
+     *
+     * @param now reference time
+     * @return true if an occurrence is due soon
+     */
+    @Override
+    public boolean isDueSoon(LocalDateTime now) {
+        if (super.isDone()) {
+            return false;
+        }
+        LocalDateTime next = nextOccurrence(now);
+        return next != null && next.isBefore(now.plusWeeks(1));
+    }
+
+    /**
+     * Encodes this rule for persistence. Format:
+     * RECURRING|&lt;description&gt;|&lt;statusFlag&gt;|&lt;start&gt;|&lt;end&gt;|&lt;intervalDays&gt;|&lt;until
+     * or never&gt;
+     *
+     * @return encoded string
+     */
+    @Override
+    public String encodeData() {
+        return String.join(Data.DELIMITER, TaskType.RECURRING.toString(),
+                        super.encodeBasic(), DateTime.formatDateTime(startTime),
+                        DateTime.formatDateTime(endTime),
+                        Integer.toString(intervalDays),
+                        until == null ? NEVER : DateTime.formatDateTime(until));
+    }
+
+    /**
+     * Reconstructs a RecurringTask from encoded data tokens.
+     *
+     * @param data token array (expected length 7)
+     * @return decoded RecurringTask
+     * @throws IllegalArgumentException if the data is invalid
+     */
+    public static Task decodeData(String[] data)
+                    throws IllegalArgumentException {
+        if (data.length != 7) {
+            throw new IllegalArgumentException();
+        }
+        return new RecurringTask(data[1], data[2].equals("1"),
+                        DateTime.parseDateTime(data[3]),
+                        DateTime.parseDateTime(data[4]),
+                        Integer.parseInt(data[5]),
+                        data[6].equals(NEVER) ? null : DateTime.parseDateTime(data[6]));
+    }
+
+    /**
+     * Returns a human-readable representation of the rule and its next
+     * occurrence.
+     *
+     * @return display string
+     */
+    @Override
+    public String toString() {
+        String every = intervalDays == 1 ? "day"
+                        : intervalDays == 7 ? "week" : intervalDays + " days";
+        StringBuilder sb = new StringBuilder(super.toString())
+                        .append(" (every ").append(every)
+                        .append(" from: ").append(DateTime.printDateTime(startTime));
+        if (until != null) {
+            sb.append(" until: ").append(DateTime.printDateTime(until));
+        }
+        LocalDateTime next = isDone() ? null : nextOccurrence(LocalDateTime.now());
+        if (next != null) {
+            sb.append(", next: ").append(DateTime.printDateTime(next));
+        }
+        return sb.append(")").toString();
+    }
+
+    /**
+     * Returns a single occurrence of this rule as a standalone event.
+     *
+     * @param start start date-time of the occurrence
+     * @return event covering that occurrence
+     */
+    public EventTask occurrenceAt(LocalDateTime start) {
+        long duration = DateTime.toEpochMinute(endTime) - DateTime.toEpochMinute(startTime);
+        return new EventTask(getDescription(), isDone(), start, start.plusMinutes(duration));
+    }
+}
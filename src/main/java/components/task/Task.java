@@ -1,5 +1,9 @@
 package components.task;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import utilities.Data;
 
 /**
@@ -33,7 +37,7 @@ public class Task {
      * @param description textual description
      * @param isDone initial completion flag
      */
-    protected Task(String description, boolean isDone) {
+    public Task(String description, boolean isDone) {
         this.description = description;
         this.isDone = isDone;
     }
@@ -57,6 +61,53 @@ public class Task {
         return description;
     }
 
+    /**
+     * Returns the tags of this task, see {@link #tagsOf(String)}.
+     *
+     * @return tags, without duplicates
+     */
+    public List<String> getTags() {
+        return tagsOf(description);
+    }
+
+    /**
+     * Extracts the tags from a description: words starting with {@code #}
+     * at the start of the description or after whitespace, made of letters,
+     * digits, {@code _} and {@code -}. Tags are returned lower-case and
+     * without the {@code #}, in order of first appearance. Tags live in the
+     * description, so every task type has them and they are saved with it.
+     *
+     * @param description task description
+     * @return tags, without duplicates
+     */
+    public static List<String> tagsOf(String description) {
+        List<String> tags = new ArrayList<>();
+        for (int i = description.indexOf('#'); i >= 0; i = description.indexOf('#', i + 1)) {
+            if (i > 0 && !Character.isWhitespace(description.charAt(i - 1))) {
+                continue;
+            }
+            int end = i + 1;
+            while (end < description.length() && isTagChar(description.charAt(end))) {
+                end++;
+            }
+            String tag = description.substring(i + 1, end).toLowerCase();
+            if (!tag.isEmpty() && !tags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Returns whether a character may appear in a tag.
+     *
+     * @param c character to check
+     * @return true for letters, digits, _ and -
+     */
+    public static boolean isTagChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+    }
+
     /**
      * Indicates whether the task is completed.
      *
@@ -117,12 +168,31 @@ public class Task {
     }
 
     /**
-     * Indicates if the task is due within a week. Base implementation returns
-     * false; subclasses with temporal fields override.
+     * Returns the category of this task.
      *
-     * @return false (no deadline associated)
+     * @return {@link TaskType#TODO}
+     */
+    public TaskType getType() {
+        return TaskType.TODO;
+    }
+
+    /**
+     * Indicates if the task is due within a week from now.
+     *
+     * @return true if due soon
      */
     public boolean isDueSoon() {
+        return isDueSoon(LocalDateTime.now());
+    }
+
+    /**
+     * Indicates if the task is due within a week of the given time. Base
+     * implementation returns false; subclasses with temporal fields override.
+     *
+     * @param now reference time
+     * @return false (no deadline associated)
+     */
+    public boolean isDueSoon(LocalDateTime now) {
         return false;
     }
 
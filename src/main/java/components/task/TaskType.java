@@ -6,9 +6,11 @@ package components.task;
  * TODO - Simple task with only a description (no temporal data).
  * DEADLINE - Task associated with a single due date/time.
  * EVENT - Task spanning a start and end date/time.
+ * RECURRING - Event-like task repeating every fixed number of days.
  */
 public enum TaskType {
     TODO,
     DEADLINE,
-    EVENT
+    EVENT,
+    RECURRING
 }
@@ -0,0 +1,21 @@
+package exceptions;
+
+/**
+ * Exception thrown when a named task list has no data file.
+ */
+public class ListNotFoundException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a ListNotFoundException with a message naming the missing list.
+     *
+     * @param name the list name provided by the user
+     */
+    public ListNotFoundException(String name) {
+        super(
+                String.format(
+                        "Dumpy can't find a list called %s! Try newlist %s.",
+                        name,
+                        name));
+    }
+}
@@ -0,0 +1,55 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the processing of one command by
+ * {@link components.CommandRouter}, including the save that follows it.
+ */
+@Name("dumpy.Command")
+@Label("Command")
+@Category({"Dumpy", "Commands"})
+@Description("Dispatch of a single user command")
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command")
+    private String command;
+
+    @Label("Arguments Length")
+    private int argsLength;
+
+    @Label("Error")
+    private boolean isError;
+
+    /**
+     * Creates the event and starts timing it. Only construct it when
+     * {@link Tracing#isEnabled()} is true.
+     */
+    public CommandEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it with the given payload. The payload is
+     * only written when the event passes the recording's enablement and
+     * threshold filters.
+     *
+     * @param command command name
+     * @param argsLength length of the argument string
+     * @param isError true if the command ended in an error
+     */
+    public void complete(String command, int argsLength, boolean isError) {
+        end();
+        if (shouldCommit()) {
+            this.command = command;
+            this.argsLength = argsLength;
+            this.isError = isError;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the construction of one chat bubble in the GUI.
+ */
+@Name("dumpy.Dialog")
+@Label("Dialog Creation")
+@Category({"Dumpy", "UI"})
+@Description("Loading and styling of a single dialog box")
+@StackTrace(false)
+public class DialogEvent extends Event {
+    @Label("Dialog Type")
+    private String dialogType;
+
+    @Label("Text Length")
+    private int textLength;
+
+    /**
+     * Creates the event and starts timing it. Only construct it when
+     * {@link Tracing#isEnabled()} is true.
+     */
+    public DialogEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it with the given payload if it passes the
+     * recording's filters.
+     *
+     * @param dialogType kind of dialog that was built
+     * @param textLength length of the dialog text
+     */
+    public void complete(String dialogType, int textLength) {
+        end();
+        if (shouldCommit()) {
+            this.dialogType = dialogType;
+            this.textLength = textLength;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a load or save of the task list by
+ * {@link utilities.Data}.
+ */
+@Name("dumpy.Persistence")
+@Label("Persistence")
+@Category({"Dumpy", "Persistence"})
+@Description("Reading or writing the task list file")
+@StackTrace(false)
+public class PersistenceEvent extends Event {
+    /** Value of {@link #operation} for loads. */
+    public static final String LOAD = "load";
+    /** Value of {@link #operation} for saves. */
+    public static final String SAVE = "save";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Creates the event and starts timing it. Only construct it when
+     * {@link Tracing#isEnabled()} is true.
+     */
+    public PersistenceEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it with the given payload if it passes the
+     * recording's filters.
+     *
+     * @param operation {@link #LOAD} or {@link #SAVE}
+     * @param taskCount number of tasks read or written
+     * @param bytes number of bytes read or written
+     */
+    public void complete(String operation, int taskCount, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.taskCount = taskCount;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
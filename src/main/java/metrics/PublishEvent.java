@@ -0,0 +1,54 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the fan-out of one message by
+ * {@link utilities.EventBus#publish(String, boolean)}.
+ */
+@Name("dumpy.Publish")
+@Label("Publish")
+@Category({"Dumpy", "Event Bus"})
+@Description("Delivery of a message to every event bus listener")
+@StackTrace(false)
+public class PublishEvent extends Event {
+    @Label("Listeners")
+    private int listenerCount;
+
+    @Label("Message Length")
+    private int messageLength;
+
+    @Label("From User")
+    private boolean isUser;
+
+    /**
+     * Creates the event and starts timing it. Only construct it when
+     * {@link Tracing#isEnabled()} is true.
+     */
+    public PublishEvent() {
+        begin();
+    }
+
+    /**
+     * Ends the event and commits it with the given payload if it passes the
+     * recording's filters.
+     *
+     * @param listenerCount number of listeners the message was delivered to
+     * @param messageLength length of the message
+     * @param isUser true if the message originated from the user
+     */
+    public void complete(int listenerCount, int messageLength, boolean isUser) {
+        end();
+        if (shouldCommit()) {
+            this.listenerCount = listenerCount;
+            this.messageLength = messageLength;
+            this.isUser = isUser;
+            commit();
+        }
+    }
+}
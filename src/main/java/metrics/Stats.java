@@ -0,0 +1,216 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide latency and throughput counters for command dispatch and
+ * persistence. Recording only touches {@link LongAdder}s and
+ * {@link LatencyHistogram}s, so it is cheap enough to stay enabled.
+ *
+ * <p>
+ * All methods are static, mirroring {@link utilities.EventBus}. Counters are
+ * readable through {@link #report()} and, once {@link #registerMBean()} has
+ * been called, through JMX.
+ */
+public class Stats implements StatsMBean {
+    /** JMX object name the MBean is registered under. */
+    public static final String OBJECT_NAME = "dumpy:type=Stats";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final Stats INSTANCE = new Stats();
+
+    /** Per-command counters keyed by command name. */
+    private static final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    /** Latency of every command, regardless of name. */
+    private static final LatencyHistogram allCommands = new LatencyHistogram();
+
+    private static final LatencyHistogram saves = new LatencyHistogram();
+    private static final LongAdder bytesWritten = new LongAdder();
+
+    private static final LongAdder resultCacheHits = new LongAdder();
+    private static final LongAdder resultCacheMisses = new LongAdder();
+    private static final LongAdder resultCacheEvictions = new LongAdder();
+
+    private static volatile long lastLoadNanos;
+    private static volatile long lastLoadTasks;
+    private static volatile long lastLoadBytes;
+
+    /** Counters for a single command name. */
+    private static class CommandStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Records one processed command.
+     *
+     * @param command command name
+     * @param nanos time taken to process it
+     * @param isError true if the command ended in an error
+     */
+    public static void recordCommand(String command, long nanos, boolean isError) {
+        CommandStats stats = commands.computeIfAbsent(command, c -> new CommandStats());
+        stats.count.increment();
+        if (isError) {
+            stats.errors.increment();
+        }
+        stats.latency.record(nanos);
+        allCommands.record(nanos);
+    }
+
+    /**
+     * Records one save of the task list.
+     *
+     * @param nanos time taken to encode and write
+     * @param bytes number of bytes written
+     */
+    public static void recordSave(long nanos, long bytes) {
+        saves.record(nanos);
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Records a load of the task list.
+     *
+     * @param nanos time taken to read and decode
+     * @param tasks number of tasks loaded
+     * @param bytes number of bytes read
+     */
+    public static void recordLoad(long nanos, long tasks, long bytes) {
+        lastLoadNanos = nanos;
+        lastLoadTasks = tasks;
+        lastLoadBytes = bytes;
+    }
+
+    /**
+     * Records a lookup in a list's cache of rendered results.
+     *
+     * @param isHit true if the result was served from the cache
+     */
+    public static void recordResultCacheLookup(boolean isHit) {
+        (isHit ? resultCacheHits : resultCacheMisses).increment();
+    }
+
+    /**
+     * Records a result dropped from a list's cache to stay within its size.
+     */
+    public static void recordResultCacheEviction() {
+        resultCacheEvictions.increment();
+    }
+
+    /**
+     * Registers the {@link StatsMBean} with the platform MBean server. Safe to
+     * call more than once.
+     */
+    public static void registerMBean() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register stats MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a human-readable summary of all counters.
+     *
+     * @return multi-line report
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder("Dumpy's stopwatch says:\n");
+        sb.append("Commands (count / errors / p50 / p99 / p999):\n");
+        Map<String, CommandStats> sorted = new TreeMap<>(commands);
+        if (sorted.isEmpty()) {
+            sb.append("• none yet\n");
+        }
+        sorted.forEach((name, stats) -> sb.append(String.format(
+                        "• %s: %d / %d / %s / %s / %s\n", name,
+                        stats.count.sum(), stats.errors.sum(),
+                        formatMillis(stats.latency.getPercentile(50)),
+                        formatMillis(stats.latency.getPercentile(99)),
+                        formatMillis(stats.latency.getPercentile(99.9)))));
+
+        sb.append(String.format("Saves: %d (p50 %s, p99 %s), %d bytes written\n",
+                        saves.getCount(), formatMillis(saves.getPercentile(50)),
+                        formatMillis(saves.getPercentile(99)), bytesWritten.sum()));
+        sb.append(String.format("Result cache: %d hits, %d misses, %d evictions\n",
+                        resultCacheHits.sum(), resultCacheMisses.sum(),
+                        resultCacheEvictions.sum()));
+        sb.append(String.format("Last load: %s for %d tasks (%d bytes)\n",
+                        formatMillis(lastLoadNanos), lastLoadTasks, lastLoadBytes));
+        return sb.toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f ms", nanos / NANOS_PER_MILLI);
+    }
+
+    @Override
+    public String getReport() {
+        return report();
+    }
+
+    @Override
+    public long getCommandCount() {
+        return commands.values().stream().mapToLong(s -> s.count.sum()).sum();
+    }
+
+    @Override
+    public long getCommandErrorCount() {
+        return commands.values().stream().mapToLong(s -> s.errors.sum()).sum();
+    }
+
+    @Override
+    public double getCommandP99Millis() {
+        return allCommands.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getSaveCount() {
+        return saves.getCount();
+    }
+
+    @Override
+    public double getSaveP99Millis() {
+        return saves.getPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public double getLastLoadMillis() {
+        return lastLoadNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public long getLastLoadTaskCount() {
+        return lastLoadTasks;
+    }
+
+    @Override
+    public long getResultCacheHits() {
+        return resultCacheHits.sum();
+    }
+
+    @Override
+    public long getResultCacheMisses() {
+        return resultCacheMisses.sum();
+    }
+
+    @Override
+    public long getResultCacheEvictions() {
+        return resultCacheEvictions.sum();
+    }
+}
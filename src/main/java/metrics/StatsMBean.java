@@ -0,0 +1,93 @@
+package metrics;
+
+/**
+ * JMX view of the counters collected by {@link Stats}. Registered under
+ * {@value Stats#OBJECT_NAME}.
+ */
+public interface StatsMBean {
+    /**
+     * Returns the same multi-line report printed by the {@code stats} command.
+     *
+     * @return formatted report
+     */
+    String getReport();
+
+    /**
+     * Returns the total number of commands processed.
+     *
+     * @return command count
+     */
+    long getCommandCount();
+
+    /**
+     * Returns the total number of commands that ended in an error.
+     *
+     * @return error count
+     */
+    long getCommandErrorCount();
+
+    /**
+     * Returns the 99th percentile command latency across all commands.
+     *
+     * @return latency in milliseconds
+     */
+    double getCommandP99Millis();
+
+    /**
+     * Returns the number of times the task list was saved.
+     *
+     * @return save count
+     */
+    long getSaveCount();
+
+    /**
+     * Returns the 99th percentile save duration.
+     *
+     * @return duration in milliseconds
+     */
+    double getSaveP99Millis();
+
+    /**
+     * Returns the total number of bytes written by saves.
+     *
+     * @return bytes written
+     */
+    long getBytesWritten();
+
+    /**
+     * Returns the duration of the most recent load.
+     *
+     * @return duration in milliseconds
+     */
+    double getLastLoadMillis();
+
+    /**
+     * Returns the number of tasks read by the most recent load.
+     *
+     * @return task count
+     */
+    long getLastLoadTaskCount();
+
+    /**
+     * Returns the number of results served from the result caches of lists.
+     *
+     * @return hit count
+     */
+    long getResultCacheHits();
+
+    /**
+     * Returns the number of results that had to be rendered because they
+     * were not cached or were out of date.
+     *
+     * @return miss count
+     */
+    long getResultCacheMisses();
+
+    /**
+     * Returns the number of results dropped from result caches to stay
+     * within their size.
+     *
+     * @return eviction count
+     */
+    long getResultCacheEvictions();
+}
@@ -0,0 +1,21 @@
+package metrics;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Guards creation of the custom JFR events. Loading an event class makes the
+ * JVM initialise the JFR subsystem, which costs well over 100 ms; checking
+ * here first keeps that cost out of runs without Flight Recorder. Once a
+ * recording is started (on the command line or later via {@code jcmd}),
+ * events are created from the next call on.
+ */
+public class Tracing {
+    /**
+     * Returns whether Flight Recorder is running in this JVM.
+     *
+     * @return true if JFR events should be created
+     */
+    public static boolean isEnabled() {
+        return FlightRecorder.isInitialized();
+    }
+}
@@ -0,0 +1,41 @@
+package ui;
+
+import java.io.PrintStream;
+
+import utilities.EventListener;
+
+/**
+ * Text front end that prints every published message to a stream. Has no
+ * JavaFX dependencies so it can be used by the headless launcher.
+ */
+public class ConsoleView implements EventListener {
+    private final PrintStream out;
+
+    /**
+     * Creates a console view writing to the given stream.
+     *
+     * @param out stream that messages are printed to
+     */
+    public ConsoleView(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Prints messages from Dumpy. User messages are not echoed since the user
+     * typed them into the same terminal.
+     *
+     * @param message the message content to display
+     * @param isUser true if the message is from the user
+     */
+    @Override
+    public void onMessage(String message, boolean isUser) {
+        if (!isUser) {
+            out.println(message);
+        }
+    }
+
+    @Override
+    public void onInput(String input) {
+        // Input is read by the launcher, not by this view
+    }
+}
@@ -14,6 +14,8 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.shape.Circle;
+import metrics.DialogEvent;
+import metrics.Tracing;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's
@@ -33,6 +35,7 @@ public class DialogBox extends HBox {
     }
 
     private DialogBox(String text, Image img, DialogType type) {
+        DialogEvent event = Tracing.isEnabled() ? new DialogEvent() : null;
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(DialogBox.class
                             .getResource("/view/DialogBox.fxml"));
@@ -46,6 +49,9 @@ public class DialogBox extends HBox {
         dialog.setText(text);
         setupAvatar(img, type);
         applyStyle(type);
+        if (event != null) {
+            event.complete(type.name(), text.length());
+        }
     }
 
     private void setupAvatar(Image img, DialogType type) {
@@ -1,7 +1,18 @@
 package ui;
 
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import components.Autocomplete;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
@@ -11,9 +22,15 @@ import utilities.EventBus;
 import utilities.EventListener;
 
 /**
- * Controller for the main GUI.
+ * Controller for the main GUI. As the user types, completions of the last
+ * word are looked up by {@link Autocomplete} on a background thread once
+ * typing pauses for {@value #SUGGEST_DELAY_MILLIS} ms, and offered in a menu
+ * above the input field.
  */
 public class MainWindow extends AnchorPane implements EventListener {
+    private static final long SUGGEST_DELAY_MILLIS = 100;
+    private static final int MAX_SUGGESTIONS = 8;
+
     @FXML
     private ScrollPane scrollPane;
     @FXML
@@ -28,6 +45,16 @@ public class MainWindow extends AnchorPane implements EventListener {
     private Image dumpyImage = new Image(
                     this.getClass().getResourceAsStream("/images/Dumpy.jpg"));
 
+    private final ContextMenu suggestionMenu = new ContextMenu();
+    private final ScheduledExecutorService suggester = Executors
+                    .newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "dumpy-autocomplete");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    /** Lookup waiting for typing to pause; only touched on the UI thread. */
+    private ScheduledFuture<?> pendingSuggestion;
+
     /**
      * Handles incoming messages from the event bus and displays them in the
      * chat interface. This method is called when a message event is published
@@ -75,6 +102,8 @@ public class MainWindow extends AnchorPane implements EventListener {
 
         // Set up input field behavior
         userInput.setPromptText("Type your message here...");
+        userInput.textProperty().addListener(
+                        (observable, oldText, newText) -> scheduleSuggestions(newText));
 
         // Subscribe to event bus
         EventBus.subscribe(this);
@@ -100,6 +129,56 @@ public class MainWindow extends AnchorPane implements EventListener {
         }
     }
 
+    /**
+     * Looks up completions of the text once typing pauses, replacing any
+     * lookup still waiting. The lookup runs on the suggester thread so a
+     * large list never stalls typing.
+     *
+     * @param text current input text
+     */
+    private void scheduleSuggestions(String text) {
+        if (pendingSuggestion != null) {
+            pendingSuggestion.cancel(false);
+        }
+        if (text.isBlank()) {
+            suggestionMenu.hide();
+            return;
+        }
+        pendingSuggestion = suggester.schedule(() -> {
+            List<String> suggestions = Autocomplete.suggest(text, MAX_SUGGESTIONS);
+            Platform.runLater(() -> showSuggestions(text, suggestions));
+        }, SUGGEST_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Shows the completions of the given text, unless the user has typed on
+     * since it was looked up. Choosing one replaces the input text.
+     *
+     * @param text input text the completions were looked up for
+     * @param suggestions completed input texts
+     */
+    private void showSuggestions(String text, List<String> suggestions) {
+        if (!text.equals(userInput.getText())) {
+            return;
+        }
+        if (suggestions.isEmpty()) {
+            suggestionMenu.hide();
+            return;
+        }
+        suggestionMenu.getItems().clear();
+        for (String suggestion : suggestions) {
+            MenuItem item = new MenuItem(suggestion);
+            item.setOnAction(event -> {
+                userInput.setText(suggestion);
+                userInput.positionCaret(suggestion.length());
+            });
+            suggestionMenu.getItems().add(item);
+        }
+        if (!suggestionMenu.isShowing()) {
+            suggestionMenu.show(userInput, Side.TOP, 0, 0);
+        }
+    }
+
     /**
      * Creates and adds a dialog box to the chat interface. Generates either a
      * user dialog or Dumpy dialog based on the message source and appends it to
@@ -0,0 +1,235 @@
+package utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block-framed, Deflate-compressed variant of the data file format. The file
+ * starts with {@link #MAGIC} and a version byte, followed by blocks of
+ * <pre>
+ * int rawLength | int lineCount | int compressedLength | compressed bytes
+ * </pre>
+ * Each block compresses whole lines of the plain format independently, so
+ * blocks can be inflated and decoded in parallel, and the line count of the
+ * file is known from the headers alone.
+ */
+final class CompressedFormat {
+    /** Leading bytes identifying a compressed data file. */
+    static final byte[] MAGIC = { 'D', 'M', 'P', 'Z' };
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = MAGIC.length + 1;
+    private static final int BLOCK_HEADER_BYTES = 3 * Integer.BYTES;
+
+    private CompressedFormat() {
+    }
+
+    /**
+     * Position and sizes of one block within the file content.
+     */
+    static class Block {
+        private final int offset;
+        private final int compressedLength;
+        private final int rawLength;
+        private final int lineCount;
+
+        Block(int offset, int compressedLength, int rawLength, int lineCount) {
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+            this.lineCount = lineCount;
+        }
+
+        int getLineCount() {
+            return lineCount;
+        }
+    }
+
+    /**
+     * Checks whether file content is in the compressed format.
+     *
+     * @param content raw file content
+     * @return true if the content starts with the magic bytes
+     */
+    static boolean isCompressed(byte[] content) {
+        return content.length >= HEADER_BYTES
+                        && Arrays.equals(content, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    /**
+     * Reads the block headers without inflating anything.
+     *
+     * @param content compressed file content
+     * @return blocks in file order
+     * @throws IOException if the version is unknown or a block is truncated
+     */
+    static List<Block> readBlocks(byte[] content) throws IOException {
+        if (content[MAGIC.length] != VERSION) {
+            throw new IOException("Unsupported compressed data version " + content[MAGIC.length]);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        buffer.position(HEADER_BYTES);
+        List<Block> blocks = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            if (buffer.remaining() < BLOCK_HEADER_BYTES) {
+                throw new IOException("Truncated block header");
+            }
+            int rawLength = buffer.getInt();
+            int lineCount = buffer.getInt();
+            int compressedLength = buffer.getInt();
+            if (rawLength < 0 || lineCount < 0 || compressedLength < 0
+                            || compressedLength > buffer.remaining()) {
+                throw new IOException("Truncated or corrupt block");
+            }
+            blocks.add(new Block(buffer.position(), compressedLength, rawLength, lineCount));
+            buffer.position(buffer.position() + compressedLength);
+        }
+        return blocks;
+    }
+
+    /**
+     * Inflates a single block back into plain-format lines.
+     *
+     * @param content compressed file content
+     * @param block block to inflate
+     * @return the block's plain content
+     * @throws UncheckedIOException if the block does not inflate to its
+     *             recorded length
+     */
+    static byte[] inflate(byte[] content, Block block) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content, block.offset, block.compressedLength);
+            byte[] raw = new byte[block.rawLength];
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, raw.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != raw.length) {
+                throw new UncheckedIOException(new IOException("Corrupt compressed block"));
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new IOException(e));
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Inflates every block, concatenating the plain content.
+     *
+     * @param content compressed file content
+     * @return the file's plain content
+     * @throws IOException if the content is corrupt
+     */
+    static byte[] inflateAll(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for (Block block : readBlocks(content)) {
+                out.write(inflate(content, block));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Output stream that writes the compressed format. Plain content is
+     * buffered and compressed into a block at the first line feed after at
+     * least {@code blockBytes} have been written, so blocks end on line
+     * boundaries.
+     */
+    static class BlockOutputStream extends FilterOutputStream {
+        private final int blockBytes;
+        private final DataOutputStream data;
+        private final Deflater deflater = new Deflater();
+        private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        private byte[] deflated = new byte[0];
+        private int lineCount;
+
+        /**
+         * Writes the file header and prepares to write blocks.
+         *
+         * @param out destination stream
+         * @param blockBytes plain bytes per block
+         * @throws IOException if the header cannot be written
+         */
+        BlockOutputStream(OutputStream out, int blockBytes) throws IOException {
+            super(out);
+            this.blockBytes = blockBytes;
+            this.data = new DataOutputStream(out);
+            data.write(MAGIC);
+            data.writeByte(VERSION);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            block.write(b, off, len);
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lineCount++;
+                }
+            }
+            if (block.size() >= blockBytes && len > 0 && b[off + len - 1] == '\n') {
+                writeBlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (block.size() > 0) {
+                    writeBlock();
+                }
+            } finally {
+                deflater.end();
+                super.close();
+            }
+        }
+
+        private void writeBlock() throws IOException {
+            byte[] raw = block.toByteArray();
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            if (deflated.length < raw.length + 64) {
+                deflated = new byte[raw.length + raw.length / 8 + 64];
+            }
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == deflated.length) {
+                    deflated = Arrays.copyOf(deflated, deflated.length * 2);
+                }
+                length += deflater.deflate(deflated, length, deflated.length - length);
+            }
+
+            data.writeInt(raw.length);
+            data.writeInt(lineCount);
+            data.writeInt(length);
+            data.write(deflated, 0, length);
+            block.reset();
+            lineCount = 0;
+        }
+    }
+}
@@ -1,16 +1,38 @@
 package utilities;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 import components.Todo;
 import components.task.DeadlineTask;
 import components.task.EventTask;
+import components.task.RecurringTask;
 import components.task.Task;
 import components.task.TaskType;
+import exceptions.TaskNotFoundException;
+import metrics.PersistenceEvent;
+import metrics.Stats;
+import metrics.Tracing;
 
 /**
  * Handles persistence of the Todo list. Responsibilities: - Ensures the data
@@ -18,11 +40,25 @@ import components.task.TaskType;
  * Deserializes (decodes) tasks from stored file entries - Provides a uniform
  * delimiter for field separation
  *
+ * Each named list is stored in its own file, {@code <name>.txt}, in the data
+ * directory ({@code data}, or the {@value #DATA_DIR_PROPERTY} system
+ * property).
+ *
  * File format: Each line represents one task. The first token is the TaskType
- * (TODO, EVENT, DEADLINE). Subsequent tokens depend on the specific task type.
+ * (TODO, EVENT, DEADLINE, RECURRING). Subsequent tokens depend on the specific task type.
  *
  * Corrupt / malformed lines are converted into placeholder tasks via
  * Task.createCorruptTask().
+ *
+ * Large files are split into newline-aligned byte ranges that are decoded in
+ * parallel on the common {@link ForkJoinPool}, then loaded in file order.
+ *
+ * Files can also be saved in a block-compressed format, see
+ * {@link CompressedFormat}, which is detected on read.
+ *
+ * The length and CRC-32 of the content last read or written are remembered
+ * so that {@link #mergeExternalChanges(Todo)} can tell which part of the file
+ * another process changed and decode only that part.
  */
 public class Data {
     /**
@@ -30,50 +66,221 @@ public class Data {
      * natural text).
      */
     public static final String DELIMITER = "%20";
+    /** System property overriding the data directory. */
+    public static final String DATA_DIR_PROPERTY = "dumpy.dataDir";
     /** Directory where application data is stored. */
-    private static final Path DATA_DIRECTORY = Path.of("data");
-    /** Path to the main todo list storage file. */
-    private static final Path DATA_FILE = DATA_DIRECTORY
-                    .resolve("todo_list.txt");
+    private static final Path DATA_DIRECTORY = Path.of(System.getProperty(DATA_DIR_PROPERTY, "data"));
+    /** Extension of list storage files; the file name is the list name. */
+    private static final String LIST_EXTENSION = ".txt";
+    /** Extension of the append-only file archived tasks of a list go to. */
+    private static final String ARCHIVE_EXTENSION = ".archive";
+    /** Pattern list names must match, so that they are safe file names. */
+    private static final String LIST_NAME_PATTERN = "[A-Za-z0-9_-]+";
+    /** Files smaller than this are decoded on the calling thread. */
+    private static final int PARALLEL_THRESHOLD_BYTES = 1 << 20;
+    /** System property selecting the compressed format for saves. */
+    public static final String COMPRESS_PROPERTY = "dumpy.compress";
+    /**
+     * Approximate size of each byte range decoded by one fork-join task, and
+     * of each block of the compressed format.
+     */
+    private static final int CHUNK_BYTES = 1 << 18;
+    /** Length and checksum of the content last read or written, by file. */
+    private static final Map<Path, Checksum> lastSeen = new ConcurrentHashMap<>();
 
     /**
-     * Ensures the data directory and file exist, creating them if missing.
+     * Ensures the data directory and the file of the named list exist,
+     * creating them if missing.
      *
+     * @param name list name
      * @return Path to the data file
      */
-    private static Path createDataFileIfMissing() {
+    private static Path createDataFileIfMissing(String name) {
         if (!DATA_DIRECTORY.toFile().exists()) {
-            DATA_DIRECTORY.toFile().mkdir();
+            DATA_DIRECTORY.toFile().mkdirs();
         }
 
-        if (!DATA_FILE.toFile().exists()) {
+        Path dataFile = getDataFile(name);
+        if (!dataFile.toFile().exists()) {
             try {
-                DATA_FILE.toFile().createNewFile();
+                dataFile.toFile().createNewFile();
             } catch (Exception e) {
                 System.out.println(
                                 "Error creating data file: " + e.getMessage());
             }
         }
 
-        return DATA_FILE;
+        return dataFile;
     }
 
     /**
-     * Reads the task list from disk and reconstructs a Todo instance. Malformed
-     * lines result in placeholder corrupt tasks.
+     * Returns the directory list files are stored in.
+     *
+     * @return data directory
+     */
+    public static Path getDataDirectory() {
+        return DATA_DIRECTORY;
+    }
+
+    /**
+     * Returns the file the named list is stored in.
+     *
+     * @param name list name
+     * @return path to the data file
+     */
+    public static Path getDataFile(String name) {
+        assert isValidListName(name) : "List name should be validated first";
+        return DATA_DIRECTORY.resolve(name + LIST_EXTENSION);
+    }
+
+    /**
+     * Returns the file the archived tasks of the named list are appended to.
+     *
+     * @param name list name
+     * @return path to the archive file
+     */
+    public static Path getArchiveFile(String name) {
+        assert isValidListName(name) : "List name should be validated first";
+        return DATA_DIRECTORY.resolve(name + ARCHIVE_EXTENSION);
+    }
+
+    /**
+     * Returns the name of the list stored in the given file.
+     *
+     * @param file file name or path
+     * @return list name, or null if the file does not hold a list
+     */
+    public static String getListName(Path file) {
+        String fileName = file.getFileName().toString();
+        if (!fileName.endsWith(LIST_EXTENSION)) {
+            return null;
+        }
+        String name = fileName.substring(0, fileName.length() - LIST_EXTENSION.length());
+        return isValidListName(name) ? name : null;
+    }
+
+    /**
+     * Checks whether a name can be used for a list.
+     *
+     * @param name proposed list name
+     * @return true if the name is non-empty and only has letters, digits,
+     *             {@code _} and {@code -}
+     */
+    public static boolean isValidListName(String name) {
+        return name != null && name.matches(LIST_NAME_PATTERN);
+    }
+
+    /**
+     * Checks whether the named list has a data file.
+     *
+     * @param name list name
+     * @return true if the list exists
+     */
+    public static boolean listExists(String name) {
+        return isValidListName(name) && Files.exists(getDataFile(name));
+    }
+
+    /**
+     * Returns the names of every list in the data directory.
+     *
+     * @return sorted list names
+     * @throws RuntimeException wrapping any underlying IO issues
+     */
+    public static List<String> listNames() {
+        if (!Files.isDirectory(DATA_DIRECTORY)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(DATA_DIRECTORY)) {
+            return files.map(Data::getListName).filter(Objects::nonNull).sorted()
+                            .collect(Collectors.toList());
+        } catch (IOException e) {
+            System.out.println("Error encountered when listing data directory: "
+                            + DATA_DIRECTORY.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates an empty data file for a new list.
+     *
+     * @param name list name
+     */
+    public static void createList(String name) {
+        createDataFileIfMissing(name);
+    }
+
+    /**
+     * Reads the default task list from disk and reconstructs a Todo instance.
+     * Malformed lines result in placeholder corrupt tasks.
      *
      * @return populated Todo list (possibly empty)
      * @throws RuntimeException wrapping any underlying IO issues
      */
     public static Todo readListFromFile() {
-        Path filepath = Data.createDataFileIfMissing();
-        Todo res = new Todo();
+        return readListFromFile(Todo.DEFAULT_NAME);
+    }
+
+    /**
+     * Reads the named task list from disk and reconstructs a Todo instance.
+     *
+     * @param name list name
+     * @return populated Todo list (possibly empty)
+     * @throws RuntimeException wrapping any underlying IO issues
+     */
+    public static Todo readListFromFile(String name) {
+        return readListFromFile(name, lineCount -> {
+        });
+    }
+
+    /**
+     * Reads the default task list from disk, reporting the number of lines
+     * found once the file has been read and before decoding starts.
+     *
+     * @param onLineCount receives the approximate number of tasks to decode
+     * @return populated Todo list (possibly empty)
+     * @throws RuntimeException wrapping any underlying IO issues
+     */
+    public static Todo readListFromFile(IntConsumer onLineCount) {
+        return readListFromFile(Todo.DEFAULT_NAME, onLineCount);
+    }
+
+    /**
+     * Reads the named task list from disk, reporting the number of lines
+     * found once the file has been read and before decoding starts.
+     *
+     * @param name list name
+     * @param onLineCount receives the approximate number of tasks to decode
+     * @return populated Todo list (possibly empty)
+     * @throws RuntimeException wrapping any underlying IO issues
+     */
+    public static Todo readListFromFile(String name, IntConsumer onLineCount) {
+        Path filepath = Data.createDataFileIfMissing(name);
+        Todo res = new Todo(name);
+        PersistenceEvent event = Tracing.isEnabled() ? new PersistenceEvent() : null;
+        long start = System.nanoTime();
 
         try {
-            Stream<String> contentStream = Files.lines(filepath);
-            contentStream.forEach(
-                            entry -> res.loadTask(Data.decodeData(entry)));
-            contentStream.close();
+            byte[] content = Files.readAllBytes(filepath);
+            List<List<Task>> chunks;
+            if (CompressedFormat.isCompressed(content)) {
+                List<CompressedFormat.Block> blocks = CompressedFormat.readBlocks(content);
+                onLineCount.accept(blocks.stream()
+                                .mapToInt(CompressedFormat.Block::getLineCount).sum());
+                chunks = decodeBlocks(content, blocks);
+            } else {
+                onLineCount.accept(countLines(content));
+                chunks = decodeChunks(content);
+            }
+            for (List<Task> chunk : chunks) {
+                chunk.forEach(res::loadTask);
+            }
+            lastSeen.put(filepath, new Checksum(content));
+            Stats.recordLoad(System.nanoTime() - start, res.getTasks().size(),
+                            content.length);
+            if (event != null) {
+                event.complete(PersistenceEvent.LOAD, res.getTasks().size(),
+                                content.length);
+            }
         } catch (IOException e) {
             System.out.println("Error encountered when reading data from file: "
                             + filepath.toString());
@@ -84,18 +291,403 @@ public class Data {
     }
 
     /**
-     * Persists the provided Todo list to disk, overwriting existing file
-     * content.
+     * Counts line feeds in the content, plus a final unterminated line.
+     *
+     * @param content raw file content
+     * @return number of lines
+     */
+    private static int countLines(byte[] content) {
+        int lines = 0;
+        for (byte b : content) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        if (content.length > 0 && content[content.length - 1] != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * Decodes raw file content into tasks, grouped by chunk in file order.
+     * Content below {@link #PARALLEL_THRESHOLD_BYTES} is decoded as a single
+     * chunk on the calling thread.
+     *
+     * @param content raw UTF-8 file content
+     * @return decoded tasks per chunk, in file order
+     */
+    private static List<List<Task>> decodeChunks(byte[] content) {
+        int[] bounds = splitAtNewlines(content,
+                        content.length < PARALLEL_THRESHOLD_BYTES ? content.length
+                                        : CHUNK_BYTES);
+        List<List<Task>> chunks = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            chunks.add(null);
+        }
+
+        if (chunks.size() == 1) {
+            chunks.set(0, decodeRange(content, bounds[0], bounds[1]));
+        } else if (chunks.size() > 1) {
+            ForkJoinPool.commonPool().invoke(
+                            new DecodeAction(content, bounds, 0, chunks.size(), chunks));
+        }
+        return chunks;
+    }
+
+    /**
+     * Inflates and decodes the blocks of a compressed file in parallel.
+     *
+     * @param content compressed file content
+     * @param blocks blocks of the content, in file order
+     * @return decoded tasks per block, in file order
+     * @throws IOException if a block is corrupt
+     */
+    private static List<List<Task>> decodeBlocks(byte[] content,
+                    List<CompressedFormat.Block> blocks) throws IOException {
+        try {
+            return blocks.parallelStream().map(block -> {
+                byte[] raw = CompressedFormat.inflate(content, block);
+                return decodeRange(raw, 0, raw.length);
+            }).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Computes chunk boundaries of roughly {@code chunkBytes} each, moving
+     * every boundary forward to just past the next line feed so that no line
+     * is split across chunks.
+     *
+     * @param content raw file content
+     * @param chunkBytes target chunk size
+     * @return ascending offsets starting at 0 and ending at content.length
+     */
+    private static int[] splitAtNewlines(byte[] content, int chunkBytes) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+        int pos = 0;
+        while (pos < content.length) {
+            int next = (int) Math.min((long) pos + Math.max(chunkBytes, 1),
+                            content.length);
+            while (next < content.length && content[next - 1] != '\n') {
+                next++;
+            }
+            bounds.add(next);
+            pos = next;
+        }
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Decodes every line in {@code content[from, to)}. Lines end at
+     * {@code \n}, {@code \r\n} or {@code \r}, matching
+     * {@link Files#lines(Path)}.
+     *
+     * @param content raw file content
+     * @param from start offset (inclusive)
+     * @param to end offset (exclusive)
+     * @return decoded tasks in line order
+     */
+    private static List<Task> decodeRange(byte[] content, int from, int to) {
+        String text = new String(content, from, to - from, StandardCharsets.UTF_8);
+        List<Task> tasks = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                tasks.add(decodeData(text.substring(start, i)));
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            tasks.add(decodeData(text.substring(start)));
+        }
+        return tasks;
+    }
+
+    /**
+     * Fork-join action decoding a range of chunks, splitting in half until a
+     * single chunk remains.
+     */
+    private static class DecodeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] content;
+        private final int[] bounds;
+        private final int lo;
+        private final int hi;
+        private final List<List<Task>> results;
+
+        DecodeAction(byte[] content, int[] bounds, int lo, int hi,
+                        List<List<Task>> results) {
+            this.content = content;
+            this.bounds = bounds;
+            this.lo = lo;
+            this.hi = hi;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                results.set(lo, decodeRange(content, bounds[lo], bounds[lo + 1]));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new DecodeAction(content, bounds, lo, mid, results),
+                            new DecodeAction(content, bounds, mid, hi, results));
+        }
+    }
+
+    /**
+     * Brings the Todo list in line with a data file changed by another
+     * process, without reloading it. If the file only grew and the content
+     * last seen is an unchanged prefix, just the appended lines are decoded.
+     * Otherwise lines are compared with the encoded tasks to find the common
+     * prefix and suffix, and only the differing lines in between are applied:
+     * changed lines replace their task in place, keeping its id, and extra
+     * tasks are deleted or extra lines appended. Tasks cannot be inserted
+     * mid-list, so lines added before the suffix reload the suffix after
+     * them. Only whole lines are read; a last line without a line break may
+     * still be being written and waits for the next change. Content this
+     * process wrote itself is recognised and ignored, as is a compressed file
+     * that does not inflate, such as one still being written.
+     *
+     * @param list Todo list loaded from the data file
+     * @return number of tasks replaced, removed or added
+     * @throws RuntimeException wrapping any underlying IO issues
+     */
+    public static int mergeExternalChanges(Todo list) {
+        Path filepath = Data.createDataFileIfMissing(list.getName());
+        byte[] content;
+        try {
+            content = Files.readAllBytes(filepath);
+        } catch (IOException e) {
+            System.out.println("Error encountered when reading data from file: "
+                            + filepath.toString());
+            throw new RuntimeException(e);
+        }
+
+        Checksum known = lastSeen.get(filepath);
+        Checksum current = new Checksum(content);
+        if (current.equals(known)) {
+            return 0;
+        }
+
+        boolean isCompressed = CompressedFormat.isCompressed(content);
+        if (isCompressed) {
+            try {
+                content = CompressedFormat.inflateAll(content);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n' && content[end - 1] != '\r') {
+            end--;
+        }
+
+        int changes;
+        try {
+            if (known != null && !isCompressed && isAppendedTo(content, known)) {
+                changes = 0;
+                for (Task task : decodeRange(content, (int) known.length, end)) {
+                    list.loadTask(task);
+                    changes++;
+                }
+            } else {
+                changes = mergeLines(list, content, end);
+            }
+        } catch (TaskNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+        if (isCompressed) {
+            lastSeen.put(filepath, current);
+        } else {
+            // Only the whole lines read, so that a line completed later still counts as appended
+            CRC32 crc = new CRC32();
+            crc.update(content, 0, end);
+            lastSeen.put(filepath, new Checksum(end, crc.getValue()));
+        }
+        return changes;
+    }
+
+    /**
+     * Applies the lines of {@code content[0, end)} that differ from the
+     * encoded tasks, keeping the tasks of the common prefix and suffix.
+     *
+     * @return number of tasks replaced, removed or added
+     */
+    private static int mergeLines(Todo list, byte[] content, int end) throws TaskNotFoundException {
+        List<Task> tasks = list.getTasks();
+        int[][] lines = lineBounds(content, end);
+        int lineCount = lines[0].length;
+        int prefix = 0;
+        while (prefix < lineCount && prefix < tasks.size()
+                        && lineText(content, lines, prefix).equals(tasks.get(prefix).encodeData())) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < lineCount - prefix && suffix < tasks.size() - prefix
+                        && lineText(content, lines, lineCount - 1 - suffix)
+                                        .equals(tasks.get(tasks.size() - 1 - suffix).encodeData())) {
+            suffix++;
+        }
+        int changedLines = lineCount - suffix - prefix;
+        int changedTasks = tasks.size() - suffix - prefix;
+        int replaced = Math.min(changedLines, changedTasks);
+        if (changedLines > changedTasks) {
+            // New lines go before the suffix, but tasks can only be appended
+            changedTasks += suffix;
+            changedLines += suffix;
+        }
+
+        int changes = 0;
+        for (int k = 0; k < replaced; k++) {
+            list.replaceTask(prefix + k + 1, decodeData(lineText(content, lines, prefix + k)));
+            changes++;
+        }
+        for (int k = replaced; k < changedTasks; k++) {
+            list.deleteTask(prefix + replaced + 1);
+            changes++;
+        }
+        for (int k = replaced; k < changedLines; k++) {
+            list.loadTask(decodeData(lineText(content, lines, prefix + k)));
+            changes++;
+        }
+        return changes;
+    }
+
+    /**
+     * Finds the lines of {@code content[0, end)}, which ends with a line
+     * break. Lines end at {@code \n}, {@code \r\n} or {@code \r}.
+     *
+     * @return start offsets and end offsets, excluding the line break, of
+     *             each line
+     */
+    private static int[][] lineBounds(byte[] content, int end) {
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            if (content[i] == '\n' || content[i] == '\r' && (i + 1 == end || content[i + 1] != '\n')) {
+                count++;
+            }
+        }
+        int[] starts = new int[count];
+        int[] ends = new int[count];
+        int line = 0;
+        int start = 0;
+        for (int i = 0; i < end; i++) {
+            byte b = content[i];
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            starts[line] = start;
+            ends[line++] = i;
+            if (b == '\r' && i + 1 < end && content[i + 1] == '\n') {
+                i++;
+            }
+            start = i + 1;
+        }
+        return new int[][] { starts, ends };
+    }
+
+    private static String lineText(byte[] content, int[][] lines, int line) {
+        return new String(content, lines[0][line], lines[1][line] - lines[0][line], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the content is the known content plus whole lines.
+     *
+     * @param content current file content
+     * @param known checksum of the content last seen
+     * @return true if only lines were appended
+     */
+    private static boolean isAppendedTo(byte[] content, Checksum known) {
+        if (content.length <= known.length) {
+            return false;
+        }
+        if (known.length > 0 && content[(int) known.length - 1] != '\n'
+                        && content[(int) known.length - 1] != '\r') {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(content, 0, (int) known.length);
+        return crc.getValue() == known.crc;
+    }
+
+    /**
+     * Length and CRC-32 of a file's content.
+     */
+    private static class Checksum {
+        private final long length;
+        private final long crc;
+
+        Checksum(byte[] content) {
+            CRC32 crc32 = new CRC32();
+            crc32.update(content);
+            this.length = content.length;
+            this.crc = crc32.getValue();
+        }
+
+        Checksum(long length, long crc) {
+            this.length = length;
+            this.crc = crc;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Checksum)) {
+                return false;
+            }
+            Checksum checksum = (Checksum) other;
+            return length == checksum.length && crc == checksum.crc;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(length * 31 + crc);
+        }
+    }
+
+    /**
+     * Persists the provided Todo list to its data file, overwriting existing
+     * file content. Tasks are encoded and written one line at a time rather
+     * than as one string, compressed if the {@value #COMPRESS_PROPERTY} system
+     * property is true. Either format is read back transparently.
      *
      * @param list Todo list to serialize
      * @throws RuntimeException wrapping any underlying IO issues
      */
     public static void saveListToFile(Todo list) {
-        Path filepath = Data.createDataFileIfMissing();
-        String data = Data.encodeData(list);
+        Path filepath = Data.createDataFileIfMissing(list.getName());
+        PersistenceEvent event = Tracing.isEnabled() ? new PersistenceEvent() : null;
+        long start = System.nanoTime();
+        byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
 
         try {
-            Files.writeString(filepath, data);
+            CheckedOutputStream checked = new CheckedOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(filepath)),
+                            new CRC32());
+            try (OutputStream out = Boolean.getBoolean(COMPRESS_PROPERTY)
+                            ? new CompressedFormat.BlockOutputStream(checked, CHUNK_BYTES)
+                            : checked) {
+                for (Task task : list.getTasks()) {
+                    out.write(task.encodeData().getBytes(StandardCharsets.UTF_8));
+                    out.write(lineSeparator);
+                }
+            }
+            long length = Files.size(filepath);
+            lastSeen.put(filepath, new Checksum(length, checked.getChecksum().getValue()));
+            Stats.recordSave(System.nanoTime() - start, length);
+            if (event != null) {
+                event.complete(PersistenceEvent.SAVE, list.getTasks().size(),
+                                length);
+            }
         } catch (IOException e) {
             System.out.println("Error encountered when writing data to file: "
                             + filepath.toString());
@@ -103,6 +695,63 @@ public class Data {
         }
     }
 
+    /**
+     * Moves the done tasks accepted by the filter out of the list and onto the
+     * end of its archive file, then saves the smaller list. The archive is
+     * only ever appended to, in the same line format as list files, and is
+     * read only by {@link #readArchive(String)}, so archived tasks no longer
+     * cost anything when the list is scanned or saved.
+     *
+     * @param list list to archive from
+     * @param filter chooses among the done tasks
+     * @return number of tasks archived
+     * @throws RuntimeException wrapping any underlying IO issues, in which
+     *             case the list is unchanged
+     */
+    public static int archiveDoneTasks(Todo list, Predicate<Task> filter) {
+        Path archive = getArchiveFile(list.getName());
+        int archived = list.removeDoneTasks(filter, tasks -> {
+            DATA_DIRECTORY.toFile().mkdirs();
+            try (BufferedWriter writer = Files.newBufferedWriter(archive, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Task task : tasks) {
+                    writer.write(task.encodeData());
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                System.out.println("Error encountered when writing data to file: "
+                                + archive.toString());
+                throw new RuntimeException(e);
+            }
+        });
+        if (archived > 0) {
+            saveListToFile(list);
+        }
+        return archived;
+    }
+
+    /**
+     * Reads the archived tasks of the named list lazily, oldest first. The
+     * stream must be closed.
+     *
+     * @param name list name
+     * @return archived tasks, empty if nothing was archived
+     * @throws RuntimeException wrapping any underlying IO issues
+     */
+    public static Stream<Task> readArchive(String name) {
+        Path archive = getArchiveFile(name);
+        if (!Files.exists(archive)) {
+            return Stream.empty();
+        }
+        try {
+            return Files.lines(archive, StandardCharsets.UTF_8).map(Data::decodeData);
+        } catch (IOException e) {
+            System.out.println("Error encountered when reading data from file: "
+                            + archive.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Decodes a single encoded task line into a Task instance. Delegates to the
      * appropriate subclass based on the first token (TaskType).
@@ -122,6 +771,8 @@ public class Data {
                 return EventTask.decodeData(info);
             case DEADLINE:
                 return DeadlineTask.decodeData(info);
+            case RECURRING:
+                return RecurringTask.decodeData(info);
             default:
                 throw new IllegalArgumentException();
             }
@@ -130,23 +781,4 @@ public class Data {
             return Task.createCorruptTask();
         }
     }
-
-    /**
-     * Encodes all tasks in the given Todo list into a single string with one
-     * line per task, terminated by the system line separator.
-     *
-     * @param list Todo list to encode
-     * @return serialized multi-line representation
-     */
-    public static String encodeData(Todo list) {
-        List<Task> tasks = list.getTasks();
-        StringBuilder sb = new StringBuilder();
-
-        tasks.forEach(task -> {
-            sb.append(task.encodeData());
-            sb.append(System.lineSeparator());
-        });
-
-        return sb.toString();
-    }
 }
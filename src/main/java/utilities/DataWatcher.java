@@ -0,0 +1,125 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import components.Todo;
+
+/**
+ * Watches the data directory for changes other processes, such as a sync
+ * tool or an editor, make to list files, and merges them into the open Todo
+ * lists with {@link Data#mergeExternalChanges(Todo)}. Lists that are not
+ * open are read fresh when next used, so their changes are skipped.
+ * <p>
+ * Change notifications are collected on a daemon thread until the directory
+ * has been quiet for {@value #QUIET_MILLIS} ms, so that a write in progress is
+ * not picked up half way. The merge itself runs on the UI executor, the thread
+ * every other change to the list is made on, so it never races a command or
+ * a save.
+ */
+public class DataWatcher implements AutoCloseable {
+    private static final long QUIET_MILLIS = 100;
+    private static final String MESSAGE_MERGED = "Dumpy noticed list %s changed on disk and picked up %d updates.";
+
+    private final WatchService watchService;
+    private final Function<String, Todo> openLists;
+    private final Executor uiExecutor;
+
+    private DataWatcher(Path directory, Function<String, Todo> openLists,
+                    Executor uiExecutor) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.openLists = openLists;
+        this.uiExecutor = uiExecutor;
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * Starts watching the data directory on a daemon thread.
+     *
+     * @param openLists returns the open list with a given name, or null; only
+     *            called on {@code uiExecutor}
+     * @param uiExecutor executor for the UI thread (e.g. Platform::runLater)
+     * @return the running watcher
+     * @throws IOException if the data directory cannot be watched
+     */
+    public static DataWatcher start(Function<String, Todo> openLists,
+                    Executor uiExecutor) throws IOException {
+        DataWatcher watcher = new DataWatcher(Data.getDataDirectory(), openLists, uiExecutor);
+        Thread thread = new Thread(watcher::run, "dumpy-data-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        return watcher;
+    }
+
+    /**
+     * Stops watching the data file.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<String> changed = new HashSet<>();
+                collectChangedLists(watchService.take(), changed);
+                WatchKey more;
+                while ((more = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collectChangedLists(more, changed);
+                }
+                if (!changed.isEmpty()) {
+                    uiExecutor.execute(() -> changed.forEach(this::merge));
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    /**
+     * Drains the events of a watch key into the names of the lists they
+     * concern, and re-arms the key.
+     *
+     * @param key signalled watch key
+     * @param changed receives the names of changed lists
+     */
+    private void collectChangedLists(WatchKey key, Set<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(Data.listNames());
+            } else if (event.context() instanceof Path) {
+                String name = Data.getListName((Path) event.context());
+                if (name != null) {
+                    changed.add(name);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    private void merge(String name) {
+        Todo todo = openLists.apply(name);
+        if (todo == null) {
+            return;
+        }
+        int changes = Data.mergeExternalChanges(todo);
+        if (changes > 0) {
+            EventBus.publish(String.format(MESSAGE_MERGED, name, changes), false);
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package utilities;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for parsing and formatting date-time values used by the app.
  * Input format: {@link #INPUT_DATE_FORMAT}. Output (display) format:
  * {@link #OUTPUT_DATE_FORMAT}.
+ * <p>
+ * Strings in the canonical 16-character storage format are parsed and
+ * formatted by hand; anything else falls back to the JDK formatter so that
+ * accepted inputs and error behaviour stay identical. Display strings are
+ * cached per distinct minute.
  */
 public class DateTime {
     /** Example date string shown to users as a formatting guide. */
@@ -17,32 +25,21 @@ public class DateTime {
     /** Pattern used for user-friendly display output. */
     public static final String OUTPUT_DATE_FORMAT = "d MMM yyyy, h:mm a";
 
+    /** Length of a date-time string in {@link #INPUT_DATE_FORMAT}. */
+    private static final int CANONICAL_LENGTH = 16;
+    /** Minutes in a day, used for epoch-minute conversions. */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    /** Upper bound on cached display strings before the cache is reset. */
+    private static final int DISPLAY_CACHE_LIMIT = 4096;
+
     /** Formatter for parsing / formatting in the canonical input pattern. */
     private static DateTimeFormatter formatter = DateTimeFormatter
                     .ofPattern(DateTime.INPUT_DATE_FORMAT);
     /** Formatter for pretty-printing to users. */
     private static DateTimeFormatter outputFormatter = DateTimeFormatter
                     .ofPattern(DateTime.OUTPUT_DATE_FORMAT);
-
-    /**
-     * Continuously reads lines from {@link IO#readLine()} until a valid
-     * date-time matching {@link #INPUT_DATE_FORMAT} is entered.
-     *
-     * @return parsed {@link LocalDateTime}
-     */
-    public static LocalDateTime getDateTime() {
-        String date;
-        while (true) {
-            date = IO.readLine();
-            try {
-                return DateTime.parseDateTime(date);
-            } catch (DateTimeParseException e) {
-                System.out.printf("Invalid format. Use %s (e.g., %s)\n",
-                                DateTime.INPUT_DATE_FORMAT,
-                                DateTime.EXAMPLE_DATE);
-            }
-        }
-    }
+    /** Display strings keyed by epoch minute. */
+    private static final Map<Long, String> displayCache = new ConcurrentHashMap<>();
 
     /**
      * Parses a date-time string using the canonical input format.
@@ -55,6 +52,10 @@ public class DateTime {
     public static LocalDateTime parseDateTime(String date)
                     throws DateTimeParseException {
         assert date != null : "Date string cannot be null";
+        LocalDateTime parsed = parseCanonical(date);
+        if (parsed != null) {
+            return parsed;
+        }
         return LocalDateTime.parse(date, formatter);
     }
 
@@ -67,7 +68,22 @@ public class DateTime {
      */
     public static String formatDateTime(LocalDateTime dateTime) {
         assert dateTime != null : "DateTime cannot be null";
-        return dateTime.format(formatter);
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return dateTime.format(formatter);
+        }
+
+        char[] buf = new char[CANONICAL_LENGTH];
+        writeDigits(buf, 0, year, 4);
+        buf[4] = '-';
+        writeDigits(buf, 5, dateTime.getMonthValue(), 2);
+        buf[7] = '-';
+        writeDigits(buf, 8, dateTime.getDayOfMonth(), 2);
+        buf[10] = ' ';
+        writeDigits(buf, 11, dateTime.getHour(), 2);
+        buf[13] = ':';
+        writeDigits(buf, 14, dateTime.getMinute(), 2);
+        return new String(buf);
     }
 
     /**
@@ -80,6 +96,112 @@ public class DateTime {
         if (dateTime == null) {
             throw new IllegalArgumentException("DateTime cannot be null");
         }
-        return dateTime.format(outputFormatter);
+
+        // The display pattern has minute resolution, so the epoch minute is
+        // a complete cache key.
+        Long key = toEpochMinute(dateTime);
+        String cached = displayCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        String printed = dateTime.format(outputFormatter);
+        if (displayCache.size() >= DISPLAY_CACHE_LIMIT) {
+            displayCache.clear();
+        }
+        displayCache.put(key, printed);
+        return printed;
+    }
+
+    /**
+     * Converts a date-time to whole minutes since 1970-01-01T00:00, dropping
+     * seconds and nanoseconds.
+     *
+     * @param dateTime date-time to convert
+     * @return epoch minute
+     */
+    public static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                        + dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    /**
+     * Converts an epoch minute produced by {@link #toEpochMinute} back into a
+     * date-time.
+     *
+     * @param epochMinute minutes since 1970-01-01T00:00
+     * @return corresponding date-time
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        long day = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        return LocalDate.ofEpochDay(day)
+                        .atTime(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /**
+     * Parses a string in the exact 16-character canonical layout. Returns null
+     * for anything the JDK formatter might treat differently (wrong layout,
+     * out-of-range fields) so the caller can fall back to it.
+     *
+     * @param date raw date-time string
+     * @return parsed date-time, or null if the fast path does not apply
+     */
+    private static LocalDateTime parseCanonical(String date) {
+        if (date.length() != CANONICAL_LENGTH || date.charAt(4) != '-'
+                        || date.charAt(7) != '-' || date.charAt(10) != ' '
+                        || date.charAt(13) != ':') {
+            return null;
+        }
+
+        int year = readDigits(date, 0, 4);
+        int month = readDigits(date, 5, 2);
+        int day = readDigits(date, 8, 2);
+        int hour = readDigits(date, 11, 2);
+        int minute = readDigits(date, 14, 2);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || hour < 0
+                        || hour > 23 || minute < 0 || minute > 59) {
+            return null;
+        }
+        if (day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            return null;
+        }
+
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Reads a fixed-width run of ASCII digits.
+     *
+     * @param s source string
+     * @param start index of the first digit
+     * @param width number of digits
+     * @return the decoded value, or -1 if a non-digit is found
+     */
+    private static int readDigits(String s, int start, int width) {
+        int value = 0;
+        for (int i = start; i < start + width; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Writes a zero-padded non-negative value into a fixed-width slot.
+     *
+     * @param buf destination buffer
+     * @param start index of the first digit
+     * @param value value to write
+     * @param width number of digits
+     */
+    private static void writeDigits(char[] buf, int start, int value, int width) {
+        for (int i = start + width - 1; i >= start; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
     }
 }
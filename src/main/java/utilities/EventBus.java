@@ -1,13 +1,16 @@
 package utilities;
 
-import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
 
+import metrics.PublishEvent;
+import metrics.Tracing;
+
 /**
  * A centralized event bus for managing communication between different
  * components of the application. Provides publish-subscribe messaging for
@@ -26,8 +29,11 @@ import java.util.function.Consumer;
  * All methods are static as this is designed as a singleton event bus.
  */
 public class EventBus {
-    /** List of registered event listeners that receive published messages */
-    private static final List<EventListener> listeners = new ArrayList<>();
+    /**
+     * List of registered event listeners that receive published messages.
+     * Copy-on-write so that background publishers never race a subscription.
+     */
+    private static final List<EventListener> listeners = new CopyOnWriteArrayList<>();
 
     /** Thread-safe queue for storing user input until it can be processed */
     private static final BlockingQueue<String> inputs = new LinkedBlockingQueue<>();
@@ -57,9 +63,13 @@ public class EventBus {
      *            the system
      */
     public static void publish(String message, boolean isUser) {
+        PublishEvent event = Tracing.isEnabled() ? new PublishEvent() : null;
         for (EventListener listener : listeners) {
             listener.onMessage(message, isUser);
         }
+        if (event != null) {
+            event.complete(listeners.size(), message.length(), isUser);
+        }
     }
 
     /**
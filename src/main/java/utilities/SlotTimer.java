@@ -0,0 +1,146 @@
+package utilities;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs keyed actions at whole-minute slots. Actions due in the same minute
+ * share a slot, and only the earliest slot has a pending timer on the single
+ * scheduler thread, so any number of scheduled actions cost nothing while
+ * idle. Scheduling and cancelling are O(log slots).
+ * <p>
+ * Actions run on the timer thread; callers that need another thread should
+ * hand off inside the action. The thread is started by the first schedule,
+ * so timers that never get an action cost no thread.
+ */
+public class SlotTimer {
+    private static final long MILLIS_PER_MINUTE = 60_000;
+
+    private final String threadName;
+    private ScheduledExecutorService executor;
+    private boolean isClosed;
+    /** Pending actions grouped by epoch minute. */
+    private final TreeMap<Long, Map<Object, Runnable>> slots = new TreeMap<>();
+    /** Slot each pending key is scheduled in, for cancellation. */
+    private final Map<Object, Long> slotOfKey = new HashMap<>();
+    private ScheduledFuture<?> pending;
+    private long pendingSlot = Long.MAX_VALUE;
+
+    /**
+     * Creates a timer backed by one daemon thread with the given name.
+     *
+     * @param threadName name of the timer thread
+     */
+    public SlotTimer(String threadName) {
+        this.threadName = threadName;
+    }
+
+    /**
+     * Schedules an action for the given minute, replacing any action already
+     * scheduled under the same key. Minutes in the past run on the next tick.
+     * Does nothing once the timer is closed.
+     *
+     * @param key identifies the action for later replacement or cancellation
+     * @param epochMinute minute to run at, see {@link DateTime#toEpochMinute}
+     * @param action action to run
+     */
+    public synchronized void schedule(Object key, long epochMinute, Runnable action) {
+        if (isClosed) {
+            return;
+        }
+        cancel(key);
+        slots.computeIfAbsent(epochMinute, m -> new LinkedHashMap<>()).put(key, action);
+        slotOfKey.put(key, epochMinute);
+        if (epochMinute < pendingSlot) {
+            armFor(epochMinute);
+        }
+    }
+
+    /**
+     * Cancels the action scheduled under the given key, if any.
+     *
+     * @param key key the action was scheduled with
+     */
+    public synchronized void cancel(Object key) {
+        Long slot = slotOfKey.remove(key);
+        if (slot == null) {
+            return;
+        }
+        Map<Object, Runnable> actions = slots.get(slot);
+        actions.remove(key);
+        if (actions.isEmpty()) {
+            slots.remove(slot);
+        }
+    }
+
+    /**
+     * Returns the number of pending actions.
+     *
+     * @return pending action count
+     */
+    public synchronized int size() {
+        return slotOfKey.size();
+    }
+
+    /**
+     * Drops every pending action and stops the timer thread.
+     */
+    public synchronized void close() {
+        slots.clear();
+        slotOfKey.clear();
+        isClosed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void armFor(long epochMinute) {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        long delay = epochMinute * MILLIS_PER_MINUTE - nowMillis();
+        pendingSlot = epochMinute;
+        pending = executor.schedule(this::fire, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+    }
+
+    /** Runs every slot that is due and re-arms for the next one. */
+    private void fire() {
+        List<Runnable> due = new ArrayList<>();
+        synchronized (this) {
+            long now = DateTime.toEpochMinute(LocalDateTime.now());
+            while (!slots.isEmpty() && slots.firstKey() <= now) {
+                Map<Object, Runnable> actions = slots.pollFirstEntry().getValue();
+                slotOfKey.keySet().removeAll(actions.keySet());
+                due.addAll(actions.values());
+            }
+            pending = null;
+            pendingSlot = Long.MAX_VALUE;
+            if (!slots.isEmpty()) {
+                armFor(slots.firstKey());
+            }
+        }
+        due.forEach(Runnable::run);
+    }
+
+    private static long nowMillis() {
+        LocalDateTime now = LocalDateTime.now();
+        return DateTime.toEpochMinute(now) * MILLIS_PER_MINUTE
+                        + now.getSecond() * 1000L + now.getNano() / 1_000_000;
+    }
+}
@@ -0,0 +1,185 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import components.task.DeadlineTask;
+import components.task.Task;
+
+/**
+ * Checks that {@link ChangeFeed} batches changes by size and by time, keeps
+ * their order and version stamps, and cancels a subscriber that falls a full
+ * buffer behind without holding up the others.
+ */
+public class ChangeFeedTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private static final LocalDateTime DUE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Test
+    public void onTaskAdded_burstOfChanges_flushesFullBatchesThenLingers() throws Exception {
+        ChangeFeed feed = new ChangeFeed(() -> 1);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+        int count = 2 * ChangeFeed.MAX_BATCH + 10;
+        // Holding the feed's lock keeps a linger flush from splitting the burst
+        synchronized (feed) {
+            for (int id = 0; id < count; id++) {
+                feed.onTaskAdded(id, id, new Task("task " + id));
+            }
+        }
+
+        assertEquals(ChangeFeed.MAX_BATCH, recorder.nextBatch().size());
+        assertEquals(ChangeFeed.MAX_BATCH, recorder.nextBatch().size());
+        assertEquals(10, recorder.nextBatch().size());
+        feed.close();
+        assertNull(recorder.end.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(recorder.batches.isEmpty());
+    }
+
+    @Test
+    public void onTaskAdded_fewChanges_flushedAfterLinger() throws Exception {
+        ChangeFeed feed = new ChangeFeed(() -> 1);
+        Recorder recorder = new Recorder();
+        feed.subscribe(recorder);
+        long start = System.nanoTime();
+        for (int id = 0; id < 3; id++) {
+            feed.onTaskAdded(id, id, new Task("task " + id));
+        }
+
+        assertEquals(3, recorder.nextBatch().size());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(ChangeFeed.LINGER_MILLIS));
+        feed.close();
+    }
+
+    @Test
+    public void changes_listOperations_deliveredInOrderWithVersions() throws Exception {
+        Todo todo = new Todo();
+        Recorder recorder = new Recorder();
+        todo.changes().subscribe(recorder);
+        List<Long> versions = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        try {
+            for (int i = 0; i < 600; i++) {
+                if (i % 3 == 2) {
+                    todo.toggleDone(1 + i % todo.size());
+                    expected.add("TOGGLED " + todo.getTaskId(1 + i % todo.size()));
+                } else if (i % 7 == 6) {
+                    expected.add("REMOVED " + todo.getTaskId(1));
+                    todo.deleteTask(1);
+                } else {
+                    todo.addTask(new DeadlineTask("task " + i, DUE));
+                    expected.add("ADDED " + todo.getTaskId(todo.size()));
+                }
+                versions.add(todo.getVersion());
+            }
+        } finally {
+            todo.close();
+        }
+
+        List<TodoChange> changes = new ArrayList<>();
+        while (changes.size() < expected.size()) {
+            changes.addAll(recorder.nextBatch());
+        }
+        assertNull(recorder.end.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(expected.size(), changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            TodoChange change = changes.get(i);
+            assertEquals(expected.get(i), change.getKind() + " " + change.getId(), "change " + i);
+            assertEquals((long) versions.get(i), change.getVersion(), "change " + i);
+        }
+    }
+
+    @Test
+    public void subscribe_slowAndFastSubscribers_cancelsOnlyTheSlowOne() throws Exception {
+        AtomicLong version = new AtomicLong();
+        ChangeFeed feed = new ChangeFeed(version::get);
+        Recorder fast = new Recorder();
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder slow = new Recorder() {
+            @Override
+            public void onNext(List<TodoChange> batch) {
+                super.onNext(batch);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        feed.subscribe(fast);
+        feed.subscribe(slow);
+
+        // More full batches than a subscriber's buffer holds
+        int count = (Flow.defaultBufferSize() + 50) * ChangeFeed.MAX_BATCH;
+        for (int id = 0; id < count; id++) {
+            version.incrementAndGet();
+            feed.onTaskAdded(id, id, new Task("task " + id));
+        }
+        release.countDown();
+        feed.close();
+
+        Throwable slowEnd = slow.end.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(slowEnd instanceof IllegalStateException, String.valueOf(slowEnd));
+        assertTrue(slow.batches.stream().mapToInt(List::size).sum() < count);
+
+        assertNull(fast.end.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        int expectedId = 0;
+        for (List<TodoChange> batch : fast.batches) {
+            for (TodoChange change : batch) {
+                assertEquals(expectedId, change.getId());
+                assertEquals(expectedId + 1L, change.getVersion());
+                expectedId++;
+            }
+        }
+        assertEquals(count, expectedId);
+    }
+
+    /** Requests everything and records the batches and how the feed ended. */
+    private static class Recorder implements Flow.Subscriber<List<TodoChange>> {
+        final BlockingQueue<List<TodoChange>> batches = new LinkedBlockingQueue<>();
+        /** Completes with the error, or null on normal completion. */
+        final CompletableFuture<Throwable> end = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<TodoChange> batch) {
+            assertTrue(batch.size() <= ChangeFeed.MAX_BATCH);
+            batches.add(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            end.complete(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            end.complete(null);
+        }
+
+        List<TodoChange> nextBatch() throws InterruptedException {
+            List<TodoChange> batch = batches.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull(batch, "no batch");
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import components.task.DeadlineTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import utilities.DateTime;
+import utilities.EventBus;
+import utilities.EventListener;
+
+/**
+ * Checks that {@link Reminders} re-arms a recurring task after each reminder
+ * fires, and skips tasks that are gone or done by then. The lead time is set
+ * to several days, so the reminders of the next few daily occurrences are
+ * already due and fire without waiting.
+ */
+public class RemindersTest {
+    private static final int LEAD_DAYS = 5;
+
+    private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+    /** Tasks the reminders look up when they fire, by id. */
+    private final Map<Integer, Task> tasks = new ConcurrentHashMap<>();
+    private final EventListener listener = new EventListener() {
+        @Override
+        public void onMessage(String message, boolean isUser) {
+            messages.add(message);
+        }
+
+        @Override
+        public void onInput(String input) {
+        }
+    };
+    private Reminders reminders;
+
+    @BeforeEach
+    public void setUp() {
+        System.setProperty(Reminders.LEAD_PROPERTY, String.valueOf(LEAD_DAYS * 24 * 60));
+        reminders = new Reminders(Runnable::run, tasks::get);
+        EventBus.subscribe(listener);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        EventBus.unsubscribe(listener);
+        reminders.close();
+        System.clearProperty(Reminders.LEAD_PROPERTY);
+    }
+
+    @Test
+    public void recurringTask_afterFiring_remindsOfNextOccurrences() throws InterruptedException {
+        LocalDateTime start = DateTime.fromEpochMinute(DateTime.toEpochMinute(LocalDateTime.now()) + 10);
+        RecurringTask task = new RecurringTask("standup", start, start.plusMinutes(15), 1, null);
+        tasks.put(0, task);
+        reminders.onTaskAdded(0, 0, task);
+
+        for (LocalDateTime due : List.of(start, start.plusDays(1), start.plusDays(2))) {
+            String message = messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "no reminder for " + due);
+            assertTrue(message.startsWith("Reminder! This starts at " + DateTime.printDateTime(due)), message);
+        }
+    }
+
+    @Test
+    public void recurringTask_untilReached_stopsRearming() throws InterruptedException {
+        LocalDateTime start = DateTime.fromEpochMinute(DateTime.toEpochMinute(LocalDateTime.now()) + 10);
+        RecurringTask task = new RecurringTask("standup", start, start.plusMinutes(15), 1,
+                        start.plusDays(1));
+        tasks.put(0, task);
+        reminders.onTaskAdded(0, 0, task);
+
+        // The rule ends after its second occurrence, so exactly two reminders fire
+        assertNotNull(messages.poll(5, TimeUnit.SECONDS));
+        assertNotNull(messages.poll(5, TimeUnit.SECONDS));
+        assertNull(messages.poll(1, TimeUnit.SECONDS));
+        assertEquals(0, reminders.pending());
+    }
+
+    @Test
+    public void reminder_taskGoneOrDoneWhenFiring_isSkipped() throws InterruptedException {
+        LocalDateTime due = DateTime.fromEpochMinute(DateTime.toEpochMinute(LocalDateTime.now()) + 10);
+        // The lookups no longer find the pending tasks the reminders were scheduled for
+        tasks.put(1, new DeadlineTask("report", true, due));
+        reminders.onTaskAdded(0, 0, new DeadlineTask("memo", due));
+        reminders.onTaskAdded(1, 1, new DeadlineTask("report", due));
+
+        assertNull(messages.poll(1, TimeUnit.SECONDS));
+        assertEquals(0, reminders.pending());
+    }
+
+    @Test
+    public void reminder_taskReplacedWithOtherTime_isSkipped() throws InterruptedException {
+        LocalDateTime due = DateTime.fromEpochMinute(DateTime.toEpochMinute(LocalDateTime.now()) + 10);
+        tasks.put(0, new DeadlineTask("report", due.plusDays(1)));
+        reminders.onTaskAdded(0, 0, new DeadlineTask("report", due));
+
+        assertNull(messages.poll(1, TimeUnit.SECONDS));
+    }
+}
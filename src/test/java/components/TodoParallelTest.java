@@ -0,0 +1,104 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.Task;
+import exceptions.TaskNotFoundException;
+
+/**
+ * Checks that the parallel filtering and rendering paths of {@link Todo}
+ * produce exactly the strings of the serial ones, for lists just below, at
+ * and just above {@link Todo#PARALLEL_THRESHOLD}.
+ */
+public class TodoParallelTest {
+    private static final int[] SIZES = {
+        Todo.PARALLEL_THRESHOLD - 1, Todo.PARALLEL_THRESHOLD, Todo.PARALLEL_THRESHOLD + 1,
+    };
+    private static final String[] WORDS = {"report", "meeting", "groceries", "review", "call", "plan"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private final List<Todo> opened = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(Todo.PARALLEL_THRESHOLD_PROPERTY);
+        opened.forEach(Todo::close);
+    }
+
+    @Test
+    public void listTasks_aroundThreshold_parallelMatchesSerial() throws TaskNotFoundException {
+        assertPathsAgree(Todo::listTasks);
+    }
+
+    @Test
+    public void fuzzyFindTasks_aroundThreshold_parallelMatchesSerial() throws TaskNotFoundException {
+        assertPathsAgree(todo -> todo.fuzzyFindTasks("rpt"));
+        assertPathsAgree(todo -> todo.fuzzyFindTasks("no such thing"));
+    }
+
+    @Test
+    public void query_aroundThreshold_parallelMatchesSerial() throws TaskNotFoundException {
+        // Most tasks are pending, so the matches cross the threshold too
+        assertPathsAgree(todo -> todo.query("done:false"));
+        assertPathsAgree(todo -> todo.query("type:deadline"));
+    }
+
+    /**
+     * Renders lists of each size three ways, forced serial, forced parallel
+     * and with the default threshold, and asserts the output is identical.
+     */
+    private void assertPathsAgree(Function<Todo, String> render) throws TaskNotFoundException {
+        for (int size : SIZES) {
+            String serial = render.apply(filledTodo(size, Integer.MAX_VALUE));
+            String parallel = render.apply(filledTodo(size, 1));
+            String byDefault = render.apply(filledTodo(size, null));
+            assertEquals(serial, parallel, "parallel output differs at size " + size);
+            assertEquals(serial, byDefault, "default output differs at size " + size);
+        }
+    }
+
+    /**
+     * Builds the same pseudo-random list for a given size, with some tasks
+     * done and a few deleted, using the given parallel threshold, or the
+     * default if null.
+     */
+    private Todo filledTodo(int size, Integer threshold) throws TaskNotFoundException {
+        if (threshold == null) {
+            System.clearProperty(Todo.PARALLEL_THRESHOLD_PROPERTY);
+        } else {
+            System.setProperty(Todo.PARALLEL_THRESHOLD_PROPERTY, threshold.toString());
+        }
+        Todo todo = new Todo();
+        opened.add(todo);
+        Random random = new Random(size);
+        // Two extra tasks, deleted below, so the final size is exact
+        for (int i = 0; i < size + 2; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            int kind = random.nextInt(3);
+            if (kind == 0) {
+                todo.loadTask(new Task(description, random.nextInt(4) == 0));
+            } else if (kind == 1) {
+                todo.loadTask(new DeadlineTask(description, random.nextBoolean(),
+                                BASE.plusMinutes(random.nextInt(500_000))));
+            } else {
+                LocalDateTime start = BASE.plusMinutes(random.nextInt(500_000));
+                todo.loadTask(new EventTask(description, random.nextInt(3) == 0, start,
+                                start.plusHours(1)));
+            }
+        }
+        todo.deleteTask(1);
+        todo.deleteTask(size / 2);
+        return todo;
+    }
+}
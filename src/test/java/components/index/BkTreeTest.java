@@ -0,0 +1,106 @@
+package components.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link BkTree#search} against a brute-force scan of the vocabulary
+ * with {@link BkTree#distance}, and that distance against the textbook full
+ * table.
+ */
+public class BkTreeTest {
+    /** Small alphabet, so random words often lie within a few edits. */
+    private static final String LETTERS = "abcde";
+
+    @Test
+    public void search_randomVocabulary_matchesBruteForce() {
+        Random random = new Random(49);
+        Set<String> vocabulary = new LinkedHashSet<>();
+        BkTree tree = new BkTree();
+        for (int i = 0; i < 3000; i++) {
+            String word = randomWord(random, 1 + random.nextInt(8));
+            vocabulary.add(word);
+            tree.add(word);
+        }
+        // Duplicates are ignored
+        tree.add(vocabulary.iterator().next());
+        assertEquals(vocabulary.size(), tree.size());
+
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            targets.add(randomWord(random, random.nextInt(10)));
+        }
+        targets.add(vocabulary.iterator().next());
+        for (String target : targets) {
+            for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+                Set<String> expected = new TreeSet<>();
+                for (String word : vocabulary) {
+                    if (BkTree.distance(target, word) <= maxDistance) {
+                        expected.add(word);
+                    }
+                }
+                Set<String> found = new TreeSet<>();
+                List<String> all = new ArrayList<>();
+                tree.search(target, maxDistance, all::add);
+                found.addAll(all);
+                assertEquals(expected, found, target + " within " + maxDistance);
+                assertEquals(found.size(), all.size(), "duplicates for " + target);
+            }
+        }
+    }
+
+    @Test
+    public void search_emptyTree_findsNothing() {
+        List<String> found = new ArrayList<>();
+        new BkTree().search("word", 2, found::add);
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    public void distance_randomPairs_matchesFullTable() {
+        Random random = new Random(94);
+        for (int i = 0; i < 5000; i++) {
+            String a = randomWord(random, random.nextInt(9));
+            String b = randomWord(random, random.nextInt(9));
+            assertEquals(fullTableDistance(a, b), BkTree.distance(a, b), a + " vs " + b);
+            assertEquals(BkTree.distance(a, b), BkTree.distance(b, a), a + " vs " + b);
+        }
+        assertEquals(2, BkTree.distance("report", "reprot"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "plan"));
+    }
+
+    /** Levenshtein distance from the full (|a|+1) by (|b|+1) table. */
+    private static int fullTableDistance(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    table[i][j] = Math.min(table[i - 1][j - 1] + cost,
+                                    Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+}
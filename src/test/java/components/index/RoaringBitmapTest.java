@@ -0,0 +1,195 @@
+package components.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link RoaringBitmap} against {@link BitSet} on random sets, around
+ * the {@value RoaringBitmap#ARRAY_MAX}-value switch between array and bitmap
+ * containers, and with values in containers above the first.
+ */
+public class RoaringBitmapTest {
+    /** Container sizes on both sides of the array/bitmap switch. */
+    private static final int[] EDGE_SIZES = {
+        0, 1, RoaringBitmap.ARRAY_MAX - 1, RoaringBitmap.ARRAY_MAX, RoaringBitmap.ARRAY_MAX + 1, 20_000,
+    };
+    /** Container keys: the first, its neighbour, and one far above 65535. */
+    private static final int[] KEYS = {0, 1, 300};
+
+    @Test
+    public void addRemove_randomValues_matchesBitSet() {
+        Random random = new Random(50);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        BitSet expected = new BitSet();
+        for (int step = 0; step < 200_000; step++) {
+            // Containers 0 and 1 fill up past the switch, container 2 stays sparse
+            int value = random.nextInt(4) == 0 ? (2 << 16) + random.nextInt(1 << 16)
+                            : random.nextInt(2 << 16);
+            if (random.nextInt(3) == 0) {
+                bitmap.remove(value);
+                expected.clear(value);
+            } else {
+                bitmap.add(value);
+                expected.set(value);
+            }
+            if (step % 10_000 == 0) {
+                assertMatches(expected, bitmap);
+            }
+        }
+        assertMatches(expected, bitmap);
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(3 << 16);
+            assertEquals(expected.get(value), bitmap.contains(value), "contains " + value);
+        }
+    }
+
+    @Test
+    public void addRemove_aroundArrayMax_matchesBitSet() {
+        Random random = new Random(4096);
+        for (int key : KEYS) {
+            int high = key << 16;
+            RoaringBitmap bitmap = new RoaringBitmap();
+            BitSet expected = new BitSet();
+            // Grow one value at a time through 4095, 4096 and 4097, in random order
+            int[] order = shuffledLows(random);
+            for (int n = 0; n < RoaringBitmap.ARRAY_MAX + 2; n++) {
+                bitmap.add(high | order[n]);
+                expected.set(high | order[n]);
+                if (n >= RoaringBitmap.ARRAY_MAX - 2) {
+                    assertMatches(expected, bitmap);
+                }
+            }
+            // Adding a value already present keeps the count
+            bitmap.add(high | order[0]);
+            assertMatches(expected, bitmap);
+            // And shrink back through the switch, then to empty
+            for (int n = RoaringBitmap.ARRAY_MAX + 1; n >= 0; n--) {
+                bitmap.remove(high | order[n]);
+                expected.clear(high | order[n]);
+                if (n >= RoaringBitmap.ARRAY_MAX - 2 || n == 0) {
+                    assertMatches(expected, bitmap);
+                }
+            }
+            assertTrue(bitmap.isEmpty());
+        }
+    }
+
+    @Test
+    public void operations_everyContainerSizePair_matchBitSet() {
+        Random random = new Random(97);
+        for (int sizeA : EDGE_SIZES) {
+            for (int sizeB : EDGE_SIZES) {
+                BitSet setA = new BitSet();
+                BitSet setB = new BitSet();
+                for (int key : KEYS) {
+                    fill(setA, key, sizeA, random);
+                    fill(setB, key, sizeB, random);
+                }
+                // A container only one side has, above 65535
+                fill(setA, 7, sizeA, random);
+                fill(setB, 9, sizeB, random);
+                assertOperationsMatch(setA, setB);
+            }
+        }
+    }
+
+    @Test
+    public void operations_overlappingDenseSets_matchBitSet() {
+        // Unions and differences of dense containers that land near the switch
+        for (int overlap : new int[] {0, 1, 2, 100}) {
+            BitSet setA = new BitSet();
+            BitSet setB = new BitSet();
+            int half = RoaringBitmap.ARRAY_MAX / 2;
+            setA.set(70_000, 70_000 + half + overlap);
+            setB.set(70_000 + half, 70_000 + 2 * half + 1);
+            assertOperationsMatch(setA, setB);
+            setB.set(70_000, 70_000 + RoaringBitmap.ARRAY_MAX + 1);
+            assertOperationsMatch(setA, setB);
+            assertOperationsMatch(setB, setA);
+        }
+    }
+
+    @Test
+    public void operations_randomSets_matchBitSet() {
+        Random random = new Random(2050);
+        for (int round = 0; round < 200; round++) {
+            BitSet setA = randomSet(random);
+            BitSet setB = randomSet(random);
+            assertOperationsMatch(setA, setB);
+        }
+    }
+
+    private static void assertOperationsMatch(BitSet setA, BitSet setB) {
+        RoaringBitmap a = build(setA);
+        RoaringBitmap b = build(setB);
+        BitSet and = (BitSet) setA.clone();
+        and.and(setB);
+        BitSet or = (BitSet) setA.clone();
+        or.or(setB);
+        BitSet andNot = (BitSet) setA.clone();
+        andNot.andNot(setB);
+        assertMatches(and, RoaringBitmap.and(a, b));
+        assertMatches(or, RoaringBitmap.or(a, b));
+        assertMatches(andNot, RoaringBitmap.andNot(a, b));
+        // Operands are left alone
+        assertMatches(setA, a);
+        assertMatches(setB, b);
+        // Results are independent, usable bitmaps
+        RoaringBitmap union = RoaringBitmap.or(a, b);
+        union.add(5 << 16);
+        or.set(5 << 16);
+        assertMatches(or, union);
+        assertMatches(setA, a);
+    }
+
+    private static void assertMatches(BitSet expected, RoaringBitmap actual) {
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+    }
+
+    private static RoaringBitmap build(BitSet set) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        set.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    /** Sets {@code size} random values in the container with the given key. */
+    private static void fill(BitSet set, int key, int size, Random random) {
+        int[] lows = shuffledLows(random);
+        for (int i = 0; i < size; i++) {
+            set.set((key << 16) | lows[i]);
+        }
+    }
+
+    /** Returns 0 to 65535 in random order. */
+    private static int[] shuffledLows(Random random) {
+        int[] lows = new int[1 << 16];
+        for (int i = 0; i < lows.length; i++) {
+            lows[i] = i;
+        }
+        for (int i = lows.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = lows[i];
+            lows[i] = lows[j];
+            lows[j] = swap;
+        }
+        return lows;
+    }
+
+    /** Returns a set over a few containers, each empty, sparse or dense. */
+    private static BitSet randomSet(Random random) {
+        BitSet set = new BitSet();
+        for (int key = 0; key < 4; key++) {
+            int size = EDGE_SIZES[random.nextInt(EDGE_SIZES.length)] + random.nextInt(3) - 1;
+            fill(set, key * 3, Math.max(size, 0), random);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,158 @@
+package components.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.Todo;
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import exceptions.TaskNotFoundException;
+
+/**
+ * Checks {@link SortedView} paging against a fully sorted copy of the list
+ * while tasks are added, toggled and deleted in every {@link SortOrder}.
+ */
+public class SortedViewTest {
+    private static final String[] WORDS = {"Report", "review", "call", "Plan", "gym", "memo"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final int STEPS = 2000;
+
+    @Test
+    public void page_interleavedChanges_matchesSortedCopy() throws TaskNotFoundException {
+        Random random = new Random(42);
+        Todo todo = new Todo();
+        Map<SortOrder, SortedView> views = new EnumMap<>(SortOrder.class);
+        for (SortOrder order : SortOrder.values()) {
+            views.put(order, new SortedView(order));
+            todo.addListener(views.get(order));
+        }
+        try {
+            for (int step = 0; step < STEPS; step++) {
+                int operation = random.nextInt(10);
+                if (operation < 5 || todo.size() == 0) {
+                    todo.addTask(randomTask(random));
+                } else if (operation < 8) {
+                    // Toggles move tasks between the pending and done halves of STATUS
+                    todo.toggleDone(1 + random.nextInt(todo.size()));
+                } else {
+                    todo.deleteTask(1 + random.nextInt(todo.size()));
+                }
+                if (step % 50 == 49) {
+                    for (SortOrder order : SortOrder.values()) {
+                        assertPagesMatch(order, views.get(order), sortedIds(todo, order), random);
+                    }
+                }
+            }
+        } finally {
+            todo.close();
+        }
+    }
+
+    @Test
+    public void page_statusAfterRepeatedToggles_keepsPendingFirst() throws TaskNotFoundException {
+        Todo todo = new Todo();
+        SortedView view = new SortedView(SortOrder.STATUS);
+        todo.addListener(view);
+        try {
+            for (int i = 0; i < 6; i++) {
+                todo.addTask(new Task("task " + i));
+            }
+            // Ids ascend from the first task, so list positions stand in for ids
+            int first = todo.getTaskId(1);
+            todo.toggleDone(2);
+            todo.toggleDone(5);
+            todo.toggleDone(2);
+            todo.toggleDone(4);
+            assertArrayEquals(new int[] {first, first + 1, first + 2, first + 5, first + 3, first + 4},
+                            view.page(0, 6));
+            assertArrayEquals(new int[] {first + 5, first + 3}, view.page(3, 2));
+            assertEquals(6, view.size());
+        } finally {
+            todo.close();
+        }
+    }
+
+    /**
+     * Compares whole-view and random pages, including pages that run past the
+     * end or start beyond it.
+     */
+    private static void assertPagesMatch(SortOrder order, SortedView view, int[] expected, Random random) {
+        assertEquals(expected.length, view.size(), order.toString());
+        assertArrayEquals(expected, view.page(0, expected.length), order.toString());
+        for (int i = 0; i < 20; i++) {
+            int offset = random.nextInt(expected.length + 5);
+            int limit = random.nextInt(15);
+            int end = Math.min(expected.length, offset + limit);
+            int[] page = offset < end ? Arrays.copyOfRange(expected, offset, end) : new int[0];
+            assertArrayEquals(page, view.page(offset, limit), order + " page " + offset + "+" + limit);
+        }
+    }
+
+    /** Sorts the ids of the list by the order's documented keys, then by id. */
+    private static int[] sortedIds(Todo todo, SortOrder order) throws TaskNotFoundException {
+        List<int[]> rows = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= todo.size(); i++) {
+            rows.add(new int[] {todo.getTaskId(i), i - 1});
+            tasks.add(todo.getTask(i));
+        }
+        Comparator<int[]> byKey;
+        switch (order) {
+        case DEADLINE:
+            byKey = Comparator.comparing(row -> deadlineOf(tasks.get(row[1])),
+                            Comparator.nullsLast(Comparator.naturalOrder()));
+            break;
+        case START:
+            byKey = Comparator.comparing(row -> startOf(tasks.get(row[1])),
+                            Comparator.nullsLast(Comparator.naturalOrder()));
+            break;
+        case STATUS:
+            byKey = Comparator.comparing(row -> tasks.get(row[1]).isDone());
+            break;
+        default:
+            byKey = Comparator.comparing(row -> tasks.get(row[1]).getDescription().toLowerCase());
+        }
+        return rows.stream().sorted(byKey.thenComparingInt(row -> row[0])).mapToInt(row -> row[0]).toArray();
+    }
+
+    private static LocalDateTime deadlineOf(Task task) {
+        return task instanceof DeadlineTask ? ((DeadlineTask) task).getDeadline() : null;
+    }
+
+    private static LocalDateTime startOf(Task task) {
+        if (task instanceof EventTask) {
+            return ((EventTask) task).getStartTime();
+        }
+        return task instanceof RecurringTask ? ((RecurringTask) task).getStartTime() : null;
+    }
+
+    private static Task randomTask(Random random) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(20);
+        boolean isDone = random.nextInt(3) == 0;
+        // Few distinct times, so equal keys fall back to ids
+        LocalDateTime time = BASE.plusHours(random.nextInt(40));
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Task(description, isDone);
+        case 1:
+            return new DeadlineTask(description, isDone, time);
+        case 2:
+            return new EventTask(description, isDone, time, time.plusHours(1));
+        default:
+            return new RecurringTask(description, isDone, time, time.plusHours(1), 7, null);
+        }
+    }
+}
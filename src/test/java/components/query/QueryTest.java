@@ -0,0 +1,226 @@
+package components.query;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import components.Todo;
+import components.index.QueryIndex;
+import components.store.ColumnarTaskStore;
+import components.store.ListTaskStore;
+import components.store.TaskStore;
+import components.task.DeadlineTask;
+import components.task.EventTask;
+import components.task.RecurringTask;
+import components.task.Task;
+import components.task.TaskType;
+import exceptions.TaskNotFoundException;
+
+/**
+ * Checks that {@link Query#execute} planned against a {@link QueryIndex}
+ * selects exactly the tasks a brute-force filter over the whole list does,
+ * while tasks are added, toggled and deleted, on both task stores.
+ */
+public class QueryTest {
+    private static final String[] WORDS = {
+        "report", "review", "repair", "meeting", "memo", "call", "plan", "planet", "groceries", "gym",
+    };
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final int DAYS = 60;
+    private static final int STEPS = 1500;
+    private static final int QUERIES_PER_CHECK = 40;
+
+    @Test
+    public void execute_listTaskStore_matchesBruteForce() throws TaskNotFoundException {
+        assertMatchesBruteForce(ListTaskStore::new, 41);
+    }
+
+    @Test
+    public void execute_columnarTaskStore_matchesBruteForce() throws TaskNotFoundException {
+        assertMatchesBruteForce(ColumnarTaskStore::new, 4141);
+    }
+
+    /**
+     * Applies random adds, toggles and deletes to a list and, every so often,
+     * runs random queries against two indexes, one attached from the start
+     * and one attached midway, which is built by replaying the list.
+     */
+    private static void assertMatchesBruteForce(Supplier<TaskStore> store, long seed)
+                    throws TaskNotFoundException {
+        Random random = new Random(seed);
+        Todo todo = new Todo(store.get());
+        QueryIndex fromStart = new QueryIndex();
+        todo.addListener(fromStart);
+        QueryIndex replayed = null;
+        try {
+            for (int step = 0; step < STEPS; step++) {
+                int operation = random.nextInt(10);
+                if (operation < 6 || todo.size() == 0) {
+                    todo.addTask(randomTask(random));
+                } else if (operation < 8) {
+                    todo.toggleDone(1 + random.nextInt(todo.size()));
+                } else {
+                    todo.deleteTask(1 + random.nextInt(todo.size()));
+                }
+                if (step == STEPS / 2) {
+                    replayed = new QueryIndex();
+                    todo.addListener(replayed);
+                }
+                if (step % 100 == 99) {
+                    Map<Integer, Task> byId = snapshot(todo);
+                    for (int q = 0; q < QUERIES_PER_CHECK; q++) {
+                        assertQuery(randomQuery(random), byId, fromStart);
+                        if (replayed != null) {
+                            assertQuery(randomQuery(random), byId, replayed);
+                        }
+                    }
+                }
+            }
+        } finally {
+            todo.close();
+        }
+    }
+
+    private static void assertQuery(List<QueryPart> parts, Map<Integer, Task> byId, QueryIndex index) {
+        StringBuilder text = new StringBuilder();
+        Predicate<Task> expected = task -> true;
+        for (QueryPart part : parts) {
+            text.append(part.text).append(' ');
+            expected = expected.and(part.predicate);
+        }
+        Predicate<Task> filter = expected;
+        int[] bruteForce = byId.entrySet().stream()
+                        .filter(entry -> filter.test(entry.getValue()))
+                        .mapToInt(Map.Entry::getKey).sorted().toArray();
+        int[] planned = Query.parse(text.toString()).execute(index, byId::get);
+        assertArrayEquals(bruteForce, planned, text.toString());
+    }
+
+    /** Returns the tasks of the list by id. */
+    private static Map<Integer, Task> snapshot(Todo todo) throws TaskNotFoundException {
+        Map<Integer, Task> byId = new HashMap<>();
+        for (int i = 1; i <= todo.size(); i++) {
+            byId.put(todo.getTaskId(i), todo.getTask(i));
+        }
+        return byId;
+    }
+
+    private static Task randomTask(Random random) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                        + " " + random.nextInt(100);
+        boolean isDone = random.nextInt(4) == 0;
+        LocalDateTime time = BASE.plusMinutes(random.nextInt(DAYS * 24 * 60));
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Task(description, isDone);
+        case 1:
+            return new DeadlineTask(description, isDone, time);
+        case 2:
+            return new EventTask(description, isDone, time, time.plusHours(1 + random.nextInt(5)));
+        default:
+            LocalDateTime until = random.nextBoolean() ? null : time.plusDays(random.nextInt(DAYS));
+            return new RecurringTask(description, isDone, time, time.plusMinutes(30),
+                            1 + random.nextInt(7), until);
+        }
+    }
+
+    /** Returns one to three random terms, each with its brute-force predicate. */
+    private static List<QueryPart> randomQuery(Random random) {
+        List<QueryPart> parts = new ArrayList<>();
+        int count = 1 + random.nextInt(3);
+        for (int i = 0; i < count; i++) {
+            parts.add(randomPart(random));
+        }
+        return parts;
+    }
+
+    private static QueryPart randomPart(Random random) {
+        switch (random.nextInt(5)) {
+        case 0:
+            TaskType type = TaskType.values()[random.nextInt(TaskType.values().length)];
+            return new QueryPart("type:" + type.toString().toLowerCase(), task -> task.getType() == type);
+        case 1:
+            boolean isDone = random.nextBoolean();
+            return new QueryPart("done:" + isDone, task -> task.isDone() == isDone);
+        case 2:
+        case 3:
+            // Bounds slightly outside the range too, so terms can select everything or nothing
+            LocalDateTime bound = BASE.plusDays(random.nextInt(DAYS + 10) - 5);
+            String date = bound.toLocalDate().toString();
+            return random.nextBoolean()
+                            ? new QueryPart("before:" + date, task -> isBefore(task, bound))
+                            : new QueryPart("after:" + date, task -> isAtOrAfter(task, bound));
+        default:
+            String word = WORDS[random.nextInt(WORDS.length)];
+            String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+            boolean isBare = random.nextBoolean();
+            return new QueryPart(isBare ? prefix : "text:" + prefix.toUpperCase(),
+                            task -> hasWordStartingWith(task, prefix));
+        }
+    }
+
+    private static boolean isBefore(Task task, LocalDateTime bound) {
+        if (task instanceof RecurringTask) {
+            return ((RecurringTask) task).getStartTime().isBefore(bound);
+        }
+        LocalDateTime time = timeOf(task);
+        return time != null && time.isBefore(bound);
+    }
+
+    /** A recurring task matches if any occurrence starts at or after the bound. */
+    private static boolean isAtOrAfter(Task task, LocalDateTime bound) {
+        if (task instanceof RecurringTask) {
+            RecurringTask rule = (RecurringTask) task;
+            if (rule.getUntil() == null) {
+                return true;
+            }
+            for (LocalDateTime start = rule.getStartTime(); !start.isAfter(rule.getUntil());
+                            start = start.plusDays(rule.getIntervalDays())) {
+                if (!start.isBefore(bound)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        LocalDateTime time = timeOf(task);
+        return time != null && !time.isBefore(bound);
+    }
+
+    private static LocalDateTime timeOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return ((DeadlineTask) task).getDeadline();
+        } else if (task instanceof EventTask) {
+            return ((EventTask) task).getStartTime();
+        }
+        return null;
+    }
+
+    private static boolean hasWordStartingWith(Task task, String prefix) {
+        for (String word : task.getDescription().toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** A query term as written, with the predicate it should select by. */
+    private static class QueryPart {
+        private final String text;
+        private final Predicate<Task> predicate;
+
+        QueryPart(String text, Predicate<Task> predicate) {
+            this.text = text;
+            this.predicate = predicate;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package components.query;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.index.TagIndex;
+import components.task.Task;
+
+/**
+ * Checks {@link TagFilter} parsing and its normal form, and that filters
+ * run on a {@link TagIndex} select what a scan of the task tags does.
+ */
+public class TagFilterTest {
+    private static final String[] TAGS = {"work", "home", "urgent", "today", "blocked"};
+
+    @Test
+    public void parse_validFilters_normalises() {
+        assertEquals("#work #urgent|#today -#blocked",
+                        TagFilter.parse("#work #urgent|#today -#blocked").toString());
+        assertEquals("#work #urgent", TagFilter.parse("  #Work   #URGENT ").toString());
+        assertEquals("-#a -#b", TagFilter.parse("-#a|#b").toString());
+        assertEquals("-#blocked", TagFilter.parse("-#blocked").toString());
+        assertEquals("#a-b_c #9", TagFilter.parse("#a-b_c #9").toString());
+    }
+
+    @Test
+    public void parse_equivalentFilters_shareNormalForm() {
+        assertEquals(TagFilter.parse("#work -#blocked").toString(),
+                        TagFilter.parse("#WORK\t-#Blocked").toString());
+    }
+
+    @Test
+    public void parse_invalidFilters_throw() {
+        String[] invalid = {
+            "", "   ", "work", "#", "#a|", "|#a", "#a||#b", "-", "-work", "-#", "#a#b", "#a b", "#a, #b",
+            "#tag!",
+        };
+        for (String text : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> TagFilter.parse(text), text);
+        }
+    }
+
+    @Test
+    public void isTagFilter_distinguishesTagsFromOtherArguments() {
+        assertTrue(TagFilter.isTagFilter("#work"));
+        assertTrue(TagFilter.isTagFilter("-#blocked #work"));
+        assertFalse(TagFilter.isTagFilter("--sort deadline"));
+        assertFalse(TagFilter.isTagFilter("-x"));
+        assertFalse(TagFilter.isTagFilter("work #home"));
+    }
+
+    @Test
+    public void execute_randomFilters_matchesTagScan() {
+        Random random = new Random(5050);
+        TagIndex index = new TagIndex();
+        Map<Integer, Task> live = new HashMap<>();
+        for (int id = 0; id < 3000; id++) {
+            Task task = new Task(randomDescription(random));
+            index.onTaskAdded(id, id, task);
+            live.put(id, task);
+            if (random.nextInt(4) == 0) {
+                int removed = random.nextInt(id + 1);
+                Task gone = live.remove(removed);
+                if (gone != null) {
+                    index.onTaskRemoved(removed, 0, gone);
+                }
+            }
+        }
+
+        for (int round = 0; round < 500; round++) {
+            List<List<String>> allOf = new ArrayList<>();
+            List<String> noneOf = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            int groups = random.nextInt(3);
+            for (int g = 0; g < groups; g++) {
+                List<String> anyOf = new ArrayList<>();
+                int alternatives = 1 + random.nextInt(2);
+                for (int a = 0; a < alternatives; a++) {
+                    anyOf.add(TAGS[random.nextInt(TAGS.length)]);
+                }
+                allOf.add(anyOf);
+                text.append(group(anyOf)).append(' ');
+            }
+            int excluded = groups == 0 ? 1 + random.nextInt(2) : random.nextInt(2);
+            for (int e = 0; e < excluded; e++) {
+                String tag = TAGS[random.nextInt(TAGS.length)];
+                noneOf.add(tag);
+                text.append("-#").append(tag.toUpperCase()).append(' ');
+            }
+
+            int[] expected = live.keySet().stream().mapToInt(Integer::intValue).sorted().filter(id -> {
+                List<String> tags = live.get(id).getTags();
+                return allOf.stream().allMatch(anyOf -> anyOf.stream().anyMatch(tags::contains))
+                                && noneOf.stream().noneMatch(tags::contains);
+            }).toArray();
+            assertArrayEquals(expected, TagFilter.parse(text.toString()).execute(index), text.toString());
+        }
+    }
+
+    /** Writes a group of alternatives as {@code #a|#b}. */
+    private static String group(List<String> anyOf) {
+        return "#" + String.join("|#", anyOf);
+    }
+
+    private static String randomDescription(Random random) {
+        StringBuilder description = new StringBuilder("task");
+        int tags = random.nextInt(4);
+        for (int i = 0; i < tags; i++) {
+            // Tags glued to a word are not tags
+            description.append(random.nextInt(8) == 0 ? " x#" : " #").append(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return description.toString();
+    }
+}
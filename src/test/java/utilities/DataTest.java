@@ -0,0 +1,184 @@
+package utilities;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import components.Todo;
+import components.store.ColumnarTaskStore;
+import components.task.DeadlineTask;
+import components.task.Task;
+import exceptions.TaskNotFoundException;
+
+/**
+ * Checks that {@link Data#mergeExternalChanges} brings a list in line with
+ * an edited data file while keeping the ids of unchanged tasks, and that a
+ * line still being written is left for a later merge.
+ */
+public class DataTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    static {
+        try {
+            System.setProperty(Data.DATA_DIR_PROPERTY, Files.createTempDirectory("dumpy").toString());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void mergeExternalChanges_editedMiddleLine_replacesOnlyThatTask() throws Exception {
+        Todo todo = savedList("merge-edit", 10);
+        try {
+            int[] ids = ids(todo);
+            List<String> lines = readLines(todo);
+            lines.set(3, new Task("edited", true).encodeData());
+            writeLines(todo, lines);
+
+            assertEquals(1, Data.mergeExternalChanges(todo));
+            assertMatchesFile(todo);
+            // Replaced in place, so every task keeps its id
+            assertArrayEquals(ids, ids(todo));
+            assertEquals(0, Data.mergeExternalChanges(todo));
+        } finally {
+            close(todo);
+        }
+    }
+
+    @Test
+    public void mergeExternalChanges_deletedLine_keepsLaterIds() throws Exception {
+        Todo todo = savedList("merge-delete", 10);
+        try {
+            int[] ids = ids(todo);
+            List<String> lines = readLines(todo);
+            lines.remove(2);
+            writeLines(todo, lines);
+
+            assertEquals(1, Data.mergeExternalChanges(todo));
+            assertMatchesFile(todo);
+            for (int i = 0; i < 9; i++) {
+                assertEquals(ids[i < 2 ? i : i + 1], todo.getTaskId(i + 1), "task " + (i + 1));
+            }
+        } finally {
+            close(todo);
+        }
+    }
+
+    @Test
+    public void mergeExternalChanges_partialLastLine_loadsItOnceComplete() throws Exception {
+        Todo todo = savedList("merge-partial", 5);
+        try {
+            Path file = Data.getDataFile(todo.getName());
+            String line = new Task("written slowly").encodeData();
+            String half = line.substring(0, line.length() / 2);
+            Files.write(file, half.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+            assertEquals(0, Data.mergeExternalChanges(todo));
+            assertEquals(5, todo.size());
+
+            Files.write(file, (line.substring(half.length()) + System.lineSeparator())
+                            .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            assertEquals(1, Data.mergeExternalChanges(todo));
+            assertEquals(6, todo.size());
+            assertEquals("written slowly", todo.getTask(6).getDescription());
+            assertMatchesFile(todo);
+        } finally {
+            close(todo);
+        }
+    }
+
+    @Test
+    public void mergeExternalChanges_randomEdits_matchesFile() throws Exception {
+        Random random = new Random(38);
+        Todo todo = savedList("merge-random", 30);
+        try {
+            for (int round = 0; round < 200; round++) {
+                List<String> lines = readLines(todo);
+                int[] ids = ids(todo);
+                int edits = 1 + random.nextInt(3);
+                int firstEdit = lines.size();
+                for (int e = 0; e < edits; e++) {
+                    int at = random.nextInt(lines.size() + 1);
+                    int operation = random.nextInt(3);
+                    if (operation == 0 && at < lines.size() && lines.size() > 1) {
+                        lines.remove(at);
+                    } else if (operation == 1 && at < lines.size()) {
+                        lines.set(at, randomTask(random).encodeData());
+                    } else {
+                        lines.add(at, randomTask(random).encodeData());
+                    }
+                    firstEdit = Math.min(firstEdit, at);
+                }
+                writeLines(todo, lines);
+
+                Data.mergeExternalChanges(todo);
+                assertMatchesFile(todo);
+                // Tasks before the first edited line are never touched
+                for (int i = 0; i < Math.min(firstEdit, todo.size()); i++) {
+                    assertEquals(ids[i], todo.getTaskId(i + 1), "round " + round + " task " + (i + 1));
+                }
+            }
+        } finally {
+            close(todo);
+        }
+    }
+
+    /** Creates a columnar list of the given size and saves it. */
+    private static Todo savedList(String name, int size) {
+        Random random = new Random(size);
+        Todo todo = new Todo(name, new ColumnarTaskStore());
+        for (int i = 0; i < size; i++) {
+            todo.loadTask(randomTask(random));
+        }
+        Data.saveListToFile(todo);
+        return todo;
+    }
+
+    private static void assertMatchesFile(Todo todo) throws IOException {
+        List<String> expected = readLines(todo);
+        List<String> actual = new ArrayList<>();
+        for (Task task : todo.getTasks()) {
+            actual.add(task.encodeData());
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static int[] ids(Todo todo) throws TaskNotFoundException {
+        int[] ids = new int[todo.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = todo.getTaskId(i + 1);
+        }
+        return ids;
+    }
+
+    private static List<String> readLines(Todo todo) throws IOException {
+        return new ArrayList<>(Files.readAllLines(Data.getDataFile(todo.getName()), StandardCharsets.UTF_8));
+    }
+
+    private static void writeLines(Todo todo, List<String> lines) throws IOException {
+        Files.write(Data.getDataFile(todo.getName()), lines, StandardCharsets.UTF_8);
+    }
+
+    private static void close(Todo todo) throws IOException {
+        todo.close();
+        Files.deleteIfExists(Data.getDataFile(todo.getName()));
+    }
+
+    private static Task randomTask(Random random) {
+        String description = "task " + random.nextInt(1000);
+        boolean isDone = random.nextBoolean();
+        return random.nextBoolean() ? new Task(description, isDone)
+                        : new DeadlineTask(description, isDone, BASE.plusHours(random.nextInt(100)));
+    }
+}
@@ -0,0 +1,165 @@
+package utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the hand-written canonical parsing and formatting in
+ * {@link DateTime} against the JDK formatters they stand in for, on random
+ * and edge-case inputs.
+ */
+public class DateTimeTest {
+    private static final DateTimeFormatter INPUT = DateTimeFormatter.ofPattern(DateTime.INPUT_DATE_FORMAT);
+    private static final DateTimeFormatter OUTPUT = DateTimeFormatter.ofPattern(DateTime.OUTPUT_DATE_FORMAT);
+    private static final int SAMPLES = 20_000;
+    private static final String MUTATIONS = "0123456789-: /aT+";
+
+    @Test
+    public void parseDateTime_randomValidDates_matchesJdk() {
+        Random random = new Random(26);
+        for (int i = 0; i < SAMPLES; i++) {
+            String text = randomDateTime(random).format(INPUT);
+            assertParsesLikeJdk(text);
+        }
+    }
+
+    @Test
+    public void parseDateTime_randomMutations_matchesJdk() {
+        Random random = new Random(2026);
+        for (int i = 0; i < SAMPLES; i++) {
+            StringBuilder text = new StringBuilder(randomDateTime(random).format(INPUT));
+            int edits = 1 + random.nextInt(3);
+            for (int e = 0; e < edits; e++) {
+                int at = random.nextInt(text.length());
+                char c = MUTATIONS.charAt(random.nextInt(MUTATIONS.length()));
+                switch (random.nextInt(3)) {
+                case 0:
+                    text.setCharAt(at, c);
+                    break;
+                case 1:
+                    text.insert(at, c);
+                    break;
+                default:
+                    text.deleteCharAt(at);
+                }
+            }
+            assertParsesLikeJdk(text.toString());
+        }
+    }
+
+    @Test
+    public void parseDateTime_edgeCases_matchesJdk() {
+        String[] cases = {
+            "2024-02-29 12:00", "2023-02-29 12:00", "2000-02-29 00:00", "1900-02-29 00:00",
+            "2023-02-30 10:00", "2023-04-31 10:00", "2023-12-31 23:59", "2023-01-01 00:00",
+            "2023-06-15 24:00", "2023-12-31 24:00", "2023-06-15 23:60", "2023-06-15 25:00",
+            "2023-00-10 10:00", "2023-13-10 10:00", "2023-06-00 10:00", "2023-06-32 10:00",
+            "0000-01-01 00:00", "0001-01-01 00:00", "9999-12-31 23:59",
+            "2023-1-5 9:05", "2023-01-05 9:05", "2023-1-05 09:05", "2023-01-5 09:05",
+            "2023-06-15T10:00", "2023/06/15 10:00", "2023-06-15 10.00", "2023-06-15  10:00",
+            " 2023-06-15 10:00", "2023-06-15 10:00 ", "+2023-06-15 10:00", "-2023-06-15 10:00",
+            "2023-06-15 1a:00", "2023-O6-15 10:00", "", "2023-06-15",
+        };
+        for (String text : cases) {
+            assertParsesLikeJdk(text);
+        }
+    }
+
+    @Test
+    public void formatDateTime_randomDates_matchesJdk() {
+        Random random = new Random(62);
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime dateTime = randomDateTime(random);
+            assertEquals(dateTime.format(INPUT), DateTime.formatDateTime(dateTime));
+        }
+    }
+
+    @Test
+    public void formatDateTime_yearsOutsideFourDigits_matchesJdk() {
+        LocalDateTime[] cases = {
+            LocalDateTime.of(0, 1, 1, 0, 0), LocalDateTime.of(-5, 6, 7, 8, 9),
+            LocalDateTime.of(10_000, 1, 1, 0, 0), LocalDateTime.of(1, 1, 1, 0, 0),
+            LocalDateTime.of(9999, 12, 31, 23, 59),
+        };
+        for (LocalDateTime dateTime : cases) {
+            assertEquals(dateTime.format(INPUT), DateTime.formatDateTime(dateTime));
+        }
+    }
+
+    @Test
+    public void formatDateTime_thenParse_roundTrips() {
+        Random random = new Random(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime dateTime = randomDateTime(random);
+            assertEquals(dateTime, DateTime.parseDateTime(DateTime.formatDateTime(dateTime)));
+        }
+    }
+
+    @Test
+    public void printDateTime_randomDates_matchesJdkAcrossCacheHits() {
+        Random random = new Random(44);
+        LocalDateTime[] dates = new LocalDateTime[500];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = randomDateTime(random);
+        }
+        // Second round is served from the display cache
+        for (int round = 0; round < 2; round++) {
+            for (LocalDateTime dateTime : dates) {
+                assertEquals(dateTime.format(OUTPUT), DateTime.printDateTime(dateTime));
+            }
+        }
+    }
+
+    @Test
+    public void printDateTime_secondsInSameMinute_printSameAsJdk() {
+        LocalDateTime minute = LocalDateTime.of(2024, 2, 29, 0, 0);
+        assertEquals(minute.format(OUTPUT), DateTime.printDateTime(minute));
+        LocalDateTime later = minute.plusSeconds(59).plusNanos(1);
+        assertEquals(later.format(OUTPUT), DateTime.printDateTime(later));
+        LocalDateTime noon = LocalDateTime.of(2023, 12, 31, 12, 5);
+        assertEquals(noon.format(OUTPUT), DateTime.printDateTime(noon));
+    }
+
+    @Test
+    public void epochMinute_roundTrips() {
+        Random random = new Random(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime dateTime = randomDateTime(random);
+            assertEquals(dateTime, DateTime.fromEpochMinute(DateTime.toEpochMinute(dateTime)));
+        }
+    }
+
+    /**
+     * Asserts that {@link DateTime#parseDateTime} returns what the JDK parser
+     * returns, or throws when it throws.
+     */
+    private static void assertParsesLikeJdk(String text) {
+        LocalDateTime expected;
+        try {
+            expected = LocalDateTime.parse(text, INPUT);
+        } catch (DateTimeParseException e) {
+            assertThrows(DateTimeParseException.class, () -> DateTime.parseDateTime(text), text);
+            return;
+        }
+        assertEquals(expected, DateTime.parseDateTime(text), text);
+    }
+
+    /** Returns a whole-minute date-time between years 1 and 9999. */
+    private static LocalDateTime randomDateTime(Random random) {
+        long first = DateTime.toEpochMinute(LocalDateTime.of(1, 1, 1, 0, 0));
+        long last = DateTime.toEpochMinute(LocalDateTime.of(9999, 12, 31, 23, 59));
+        // Favour recent dates, where real tasks are
+        long epochMinute = random.nextBoolean()
+                        ? first + (long) (random.nextDouble() * (last - first))
+                        : DateTime.toEpochMinute(LocalDateTime.of(2000, 1, 1, 0, 0))
+                                        + random.nextInt(60 * 24 * 366 * 50);
+        return DateTime.fromEpochMinute(epochMinute);
+    }
+}